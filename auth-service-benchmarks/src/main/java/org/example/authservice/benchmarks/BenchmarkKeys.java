@@ -0,0 +1,86 @@
+package org.example.authservice.benchmarks;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.example.authservice.filter.configuration.JwtGeneratorConfiguration;
+import org.example.authservice.filter.key.JwtKeyRing;
+import org.example.authservice.filter.key.SigningKey;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+final class BenchmarkKeys {
+
+    static final long JWT_EXPIRATION = 86400000;
+    static final long REFRESH_EXPIRATION = 604800000;
+
+    private BenchmarkKeys() {
+    }
+
+    static SigningKey signingKey(String keySpec) {
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(keySpec.substring(0, keySpec.indexOf('-')));
+        int keySize = Integer.parseInt(keySpec.substring(keySpec.indexOf('-') + 1));
+        if(algorithm.isHmac()){
+            byte[] secret = new byte[keySize / 8];
+            new SecureRandom().nextBytes(secret);
+            var secretKey = Keys.hmacShaKeyFor(secret);
+            return new SigningKey(null, algorithm, secretKey, secretKey);
+        }
+        KeyPair keyPair = algorithm.isRsa() ? rsaKeyPair(keySize) : Keys.keyPairFor(algorithm);
+        return new SigningKey(UUID.randomUUID().toString(), algorithm, keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    static JwtKeyRing keyRing(String keySpec) {
+        return new JwtKeyRing(signingKey(keySpec));
+    }
+
+    static JwtGeneratorConfiguration configuration(String keySpec) {
+        SigningKey signingKey = signingKey(keySpec);
+        Base64.Encoder encoder = Base64.getEncoder();
+        JwtGeneratorConfiguration configuration = new JwtGeneratorConfiguration(JWT_EXPIRATION, REFRESH_EXPIRATION,
+                encoder.encodeToString(signingKey.getSigningKey().getEncoded()));
+        configuration.setSigningAlgorithm(signingKey.getAlgorithm().getValue());
+        if(!signingKey.getAlgorithm().isHmac()){
+            configuration.setSigningKeyId(signingKey.getKeyId());
+            configuration.setSigningPrivateKey(encoder.encodeToString(signingKey.getSigningKey().getEncoded()));
+            configuration.setSigningPublicKey(encoder.encodeToString(signingKey.getVerificationKey().getEncoded()));
+        }
+        return configuration;
+    }
+
+    static Map<String, Object> claims(int claimCount) {
+        Map<String, Object> claims = new HashMap<>();
+        for (int i = 0; i < claimCount; i++) {
+            claims.put("claim" + i, "value-" + i);
+        }
+        return claims;
+    }
+
+    static int[] tokenSequence(double reuseRatio, int hotTokens, int poolSize, int length) {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] sequence = new int[length];
+        for (int i = 0; i < length; i++) {
+            sequence[i] = random.nextDouble() < reuseRatio
+                    ? random.nextInt(hotTokens)
+                    : hotTokens + random.nextInt(poolSize - hotTokens);
+        }
+        return sequence;
+    }
+
+    private static KeyPair rsaKeyPair(int keySize) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(keySize);
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("RSA is not available", e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.authservice.benchmarks;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.authservice.domain.dto.AuthenticateResponse;
+import org.example.authservice.domain.entity.Role;
+import org.example.authservice.domain.entity.User;
+import org.example.authservice.filter.utils.JwtGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"HS256-256", "RS256-2048"})
+    private String keySpec;
+
+    @Param({"0", "32"})
+    private int claimCount;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper lenientObjectMapper;
+    private AuthenticateResponse authenticateResponse;
+    private byte[] authenticateResponseJson;
+    private User user;
+    private byte[] userJson;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = new ObjectMapper();
+        lenientObjectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        var jwtGenerator = new JwtGenerator(BenchmarkKeys.JWT_EXPIRATION,
+                BenchmarkKeys.REFRESH_EXPIRATION, BenchmarkKeys.keyRing(keySpec));
+        user = User.builder()
+                .id(1)
+                .email("benchmark@example.com")
+                .userUid(UUID.randomUUID().toString())
+                .password("$2a$10$abcdefghijklmnopqrstuuVVDnEvAhKDNyw2Gb8GqVXPW6rn6S1dK")
+                .role(Role.USER)
+                .build();
+        authenticateResponse = AuthenticateResponse.builder()
+                .accessToken(jwtGenerator.generateToken(BenchmarkKeys.claims(claimCount), user))
+                .refreshToken(jwtGenerator.generateRefreshToken(BenchmarkKeys.claims(claimCount), user))
+                .build();
+        authenticateResponseJson = objectMapper.writeValueAsBytes(authenticateResponse);
+        userJson = objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] writeAuthenticateResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(authenticateResponse);
+    }
+
+    @Benchmark
+    public AuthenticateResponse readAuthenticateResponse() throws IOException {
+        return objectMapper.readValue(authenticateResponseJson, AuthenticateResponse.class);
+    }
+
+    @Benchmark
+    public byte[] writeUser() throws IOException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public User readUser() throws IOException {
+        return lenientObjectMapper.readValue(userJson, User.class);
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.authservice.benchmarks;
+
+import jakarta.servlet.FilterChain;
+import org.example.authservice.filter.configuration.JwtGeneratorConfiguration;
+import org.example.authservice.filter.configuration.TokenRevocationConfiguration;
+import org.example.authservice.filter.filter.JwtAuthenticationFilter;
+import org.example.authservice.filter.model.TokenClaims;
+import org.example.authservice.filter.revocation.TokenRevocationRegistry;
+import org.example.authservice.filter.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    static final int HOT_TOKENS = 16;
+    static final int POOL_SIZE = 1024;
+    static final int TOKEN_CACHE_SIZE = 128;
+    static final int SEQUENCE_LENGTH = 1 << 14;
+
+    @Param({"HS256-256", "RS256-2048"})
+    private String keySpec;
+
+    @Param({"0.0", "0.9"})
+    private double reuseRatio;
+
+    @Param({"true", "false"})
+    private boolean statelessPrincipal;
+
+    @Param({"true", "false"})
+    private boolean tokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest[] requests;
+    private MockHttpServletResponse response;
+    private FilterChain filterChain;
+    private int[] sequence;
+    private int position;
+
+    @Setup
+    public void setup() {
+        JwtGeneratorConfiguration configuration = BenchmarkKeys.configuration(keySpec);
+        configuration.setTokenCacheEnabled(tokenCache);
+        configuration.setTokenCacheMaximumSize(TOKEN_CACHE_SIZE);
+        configuration.setStatelessPrincipal(statelessPrincipal);
+        JwtService jwtService = new JwtService(configuration);
+        Map<String, UserDetails> users = new HashMap<>();
+        requests = new MockHttpServletRequest[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            UserDetails user = User.withUsername("user-" + i + "@example.com").password("password").roles("USER").build();
+            users.put(user.getUsername(), user);
+            String token = jwtService.generateToken(user, Map.of(
+                    TokenClaims.USER_UID, UUID.randomUUID().toString(),
+                    TokenClaims.ROLE, "USER",
+                    TokenClaims.EPOCH, 0));
+            requests[i] = new MockHttpServletRequest("GET", "/api/v1/resource");
+            requests[i].setServletPath("/api/v1/resource");
+            requests[i].addHeader("Authorization", "Bearer " + token);
+        }
+        UserDetailsService userDetailsService = username -> {
+            UserDetails user = users.get(username);
+            if(user == null){
+                throw new UsernameNotFoundException(username);
+            }
+            return user;
+        };
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService,
+                new TokenRevocationRegistry(new TokenRevocationConfiguration(100000, 0.01)));
+        response = new MockHttpServletResponse();
+        filterChain = (request, response) -> { };
+        sequence = BenchmarkKeys.tokenSequence(reuseRatio, HOT_TOKENS, POOL_SIZE, SEQUENCE_LENGTH);
+    }
+
+    @Benchmark
+    public void doFilter() throws Exception {
+        filter.doFilter(requests[sequence[position++ & (SEQUENCE_LENGTH - 1)]], response, filterChain);
+        SecurityContextHolder.clearContext();
+    }
+}
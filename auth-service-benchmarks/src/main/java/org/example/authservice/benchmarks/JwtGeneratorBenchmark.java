@@ -0,0 +1,58 @@
+package org.example.authservice.benchmarks;
+
+import io.jsonwebtoken.Claims;
+import org.example.authservice.filter.utils.JwtGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtGeneratorBenchmark {
+
+    @Param({"HS256-256", "HS512-512", "RS256-2048", "RS256-4096", "ES256-256"})
+    private String keySpec;
+
+    @Param({"0", "8", "32"})
+    private int claimCount;
+
+    private JwtGenerator jwtGenerator;
+    private UserDetails userDetails;
+    private Map<String, Object> claims;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtGenerator = new JwtGenerator(BenchmarkKeys.JWT_EXPIRATION, BenchmarkKeys.REFRESH_EXPIRATION, BenchmarkKeys.keyRing(keySpec));
+        userDetails = User.withUsername("benchmark@example.com").password("password").roles("USER").build();
+        claims = BenchmarkKeys.claims(claimCount);
+        token = jwtGenerator.generateToken(claims, userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtGenerator.generateToken(claims, userDetails);
+    }
+
+    @Benchmark
+    public String extractClaim() {
+        return jwtGenerator.extractClaim(token, Claims::getSubject);
+    }
+}
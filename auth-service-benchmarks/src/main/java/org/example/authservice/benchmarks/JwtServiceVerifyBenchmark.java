@@ -0,0 +1,68 @@
+package org.example.authservice.benchmarks;
+
+import org.example.authservice.filter.configuration.JwtGeneratorConfiguration;
+import org.example.authservice.filter.model.VerifiedToken;
+import org.example.authservice.filter.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceVerifyBenchmark {
+
+    static final int HOT_TOKENS = 16;
+    static final int POOL_SIZE = 4096;
+    static final int SEQUENCE_LENGTH = 1 << 16;
+
+    @Param({"HS256-256", "RS256-2048", "ES256-256"})
+    private String keySpec;
+
+    @Param({"8"})
+    private int claimCount;
+
+    @Param({"0.0", "0.5", "0.9", "1.0"})
+    private double reuseRatio;
+
+    @Param({"true", "false"})
+    private boolean tokenCache;
+
+    private JwtService jwtService;
+    private String[] tokens;
+    private int[] sequence;
+    private int position;
+
+    @Setup
+    public void setup() {
+        JwtGeneratorConfiguration configuration = BenchmarkKeys.configuration(keySpec);
+        configuration.setTokenCacheEnabled(tokenCache);
+        configuration.setTokenCacheMaximumSize(POOL_SIZE);
+        jwtService = new JwtService(configuration);
+        tokens = new String[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            var user = User.withUsername("user-" + i + "@example.com").password("password").roles("USER").build();
+            tokens[i] = jwtService.generateToken(user, BenchmarkKeys.claims(claimCount));
+        }
+        sequence = BenchmarkKeys.tokenSequence(reuseRatio, HOT_TOKENS, POOL_SIZE, SEQUENCE_LENGTH);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtService.verify(tokens[sequence[position++ & (SEQUENCE_LENGTH - 1)]]);
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.authservice.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.authservice.domain.dto.AuthenticationRequest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class ThreadModeLoadTest {
+
+    private static final String EMAIL = "load-test@example.org";
+    private static final String PASSWORD = "load-test-password";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private ThreadModeLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int connections = 10_000;
+        Duration duration = Duration.ofSeconds(60);
+        Duration warmup = Duration.ofSeconds(15);
+        Map<String, URI> targets = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--connections=")) {
+                connections = Integer.parseInt(arg.substring("--connections=".length()));
+            } else if (arg.startsWith("--duration=")) {
+                duration = Duration.ofSeconds(Long.parseLong(arg.substring("--duration=".length())));
+            } else if (arg.startsWith("--warmup=")) {
+                warmup = Duration.ofSeconds(Long.parseLong(arg.substring("--warmup=".length())));
+            } else if (arg.contains("=")) {
+                int separator = arg.indexOf('=');
+                targets.put(arg.substring(0, separator), URI.create(arg.substring(separator + 1)));
+            } else {
+                throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+        }
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("Expected at least one mode=url target, e.g. platform=http://localhost:8080");
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        System.out.printf("%-12s %12s %12s %10s %10s %10s %10s%n", "mode", "connections", "requests", "req/s", "p50 ms", "p99 ms", "errors");
+        for (Map.Entry<String, URI> target : targets.entrySet()) {
+            register(client, target.getValue());
+            run(client, target.getValue(), connections, warmup);
+            Result result = run(client, target.getValue(), connections, duration);
+            System.out.printf("%-12s %12d %12d %10.0f %10.1f %10.1f %10d%n", target.getKey(), connections,
+                    result.requests(), result.throughput(), result.p50Millis(), result.p99Millis(), result.errors());
+        }
+    }
+
+    private static void register(HttpClient client, URI base) throws Exception {
+        byte[] body = new ObjectMapper().writeValueAsBytes(new AuthenticationRequest(EMAIL, PASSWORD));
+        HttpRequest request = HttpRequest.newBuilder(base.resolve("/api/v1/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        client.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static Result run(HttpClient client, URI base, int connections, Duration duration) throws InterruptedException {
+        Timer timer = Timer.builder("load.request")
+                .publishPercentiles(0.5, 0.99)
+                .register(new SimpleMeterRegistry());
+        AtomicLong errors = new AtomicLong();
+        Semaphore inFlight = new Semaphore(connections);
+        HttpRequest request = HttpRequest.newBuilder(base.resolve("/api/v1/auth/getInfo?email="
+                        + URLEncoder.encode(EMAIL, StandardCharsets.UTF_8)))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                continue;
+            }
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        timer.record(System.nanoTime() - sent, TimeUnit.NANOSECONDS);
+                        if (failure != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(connections);
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        return new Result(snapshot.count(), snapshot.count() / elapsedSeconds,
+                percentile(snapshot, 0.5), percentile(snapshot, 0.99), errors.get());
+    }
+
+    private static double percentile(HistogramSnapshot snapshot, double percentile) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+
+    private record Result(long requests, double throughput, double p50Millis, double p99Millis, long errors) {
+    }
+}
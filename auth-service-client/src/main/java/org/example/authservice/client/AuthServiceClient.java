@@ -1,47 +1,254 @@
 package org.example.authservice.client;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
 import lombok.extern.slf4j.Slf4j;
+import org.example.authservice.client.cache.UserInfoCache;
+import org.example.authservice.client.cache.VersionedUser;
 import org.example.authservice.client.config.AuthClientConfiguration;
+import org.example.authservice.client.exception.AuthServiceClientException;
+import org.example.authservice.client.jwks.JwksKeyResolver;
+import org.example.authservice.domain.dto.TokenRevocations;
+import org.example.authservice.domain.dto.UserBatchRequest;
+import org.example.authservice.domain.dto.UserInfo;
 import org.example.authservice.domain.entity.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.net.URI;
-import java.net.URISyntaxException;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 @Service
 @Slf4j
 public class AuthServiceClient {
+    private static final int OK = 200;
+    private static final int NOT_MODIFIED = 304;
+    private static final byte[] EMPTY_BODY = new byte[0];
+    private static final HttpResponse.BodyHandler<byte[]> BODY_HANDLER = responseInfo -> responseInfo.statusCode() == OK
+            ? HttpResponse.BodySubscribers.ofByteArray()
+            : HttpResponse.BodySubscribers.replacing(EMPTY_BODY);
+
     private final AuthClientConfiguration authClientConfiguration;
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
-    public AuthServiceClient(AuthClientConfiguration authClientConfiguration) {
+    private final ObjectReader userReader;
+    private final ObjectReader usersReader;
+    private final ObjectReader revocationsReader;
+    private final JwtParser jwtParser;
+    private final UserInfoCache userInfoCache;
+    private final String clientAuthorization;
+    public AuthServiceClient(AuthClientConfiguration authClientConfiguration, JwksKeyResolver jwksKeyResolver) {
         this.authClientConfiguration = authClientConfiguration;
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(authClientConfiguration.getTimeout())
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(jwksKeyResolver)
                 .build();
+        HttpClient.Builder httpClientBuilder = HttpClient.newBuilder()
+                .connectTimeout(authClientConfiguration.getTimeout())
+                .version(authClientConfiguration.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1);
+        if(authClientConfiguration.isVirtualThreads()){
+            virtualThreadExecutor().ifPresent(httpClientBuilder::executor);
+        }
+        this.httpClient = httpClientBuilder.build();
         objectMapper = new ObjectMapper();
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        userReader = objectMapper.readerFor(User.class);
+        usersReader = objectMapper.readerFor(new TypeReference<List<UserInfo>>() { });
+        revocationsReader = objectMapper.readerFor(TokenRevocations.class);
+        this.clientAuthorization = clientAuthorization(authClientConfiguration);
+        this.userInfoCache = authClientConfiguration.isCacheEnabled()
+                ? new UserInfoCache(this::fetchInfoAsync, authClientConfiguration)
+                : null;
     }
 
     public UserDetails sendGetInfo(String email){
         try {
-            String finalUri = authClientConfiguration.getUrl() + "/api/v1/auth/getInfo?email=" + email;
-            HttpRequest httpRequest = HttpRequest.newBuilder()
-                    .uri(new URI(finalUri))
-                    .GET()
-                    .build();
-            HttpResponse<String> send = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-            return objectMapper.readValue(send.body(), User.class);
-        } catch (URISyntaxException | IOException | InterruptedException e) {
+            return getInfoAsync(email).join();
+        } catch (CompletionException e) {
+            throw toClientException(e.getCause());
+        }
+    }
+
+    public CompletableFuture<UserDetails> getInfoAsync(String email){
+        return userInfoCache == null ? fetchInfoAsync(email, null).thenApply(VersionedUser::user) : userInfoCache.get(email);
+    }
+
+    public void invalidate(String email){
+        if(userInfoCache != null){
+            userInfoCache.invalidate(email);
+        }
+    }
+
+    private CompletableFuture<VersionedUser> fetchInfoAsync(String email, VersionedUser previous){
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(authClientConfiguration.getUrl() + "/api/v1/auth/getInfo?email="
+                        + URLEncoder.encode(email, StandardCharsets.UTF_8)))
+                .timeout(authClientConfiguration.getRequestTimeout())
+                .header("Accept", "application/json");
+        if(previous != null && previous.etag() != null){
+            builder.header("If-None-Match", previous.etag());
+        }
+        return send(builder.GET().build(), response -> {
+            if(response.statusCode() == NOT_MODIFIED && previous != null){
+                return previous;
+            }
+            UserDetails user = read(response, userReader);
+            return new VersionedUser(user, response.headers().firstValue("ETag").orElse(null));
+        }, 0);
+    }
+
+    public CompletableFuture<List<UserDetails>> getInfoBatch(List<String> emails){
+        return getInfoBatch(emails, chunk -> UserBatchRequest.builder().emails(chunk).build());
+    }
+
+    public CompletableFuture<List<UserDetails>> getInfoBatchByUserUids(List<String> userUids){
+        return getInfoBatch(userUids, chunk -> UserBatchRequest.builder().userUids(chunk).build());
+    }
+
+    private CompletableFuture<List<UserDetails>> getInfoBatch(List<String> keys, Function<List<String>, UserBatchRequest> requestFactory){
+        int batchSize = authClientConfiguration.getBatchSize();
+        List<CompletableFuture<List<UserDetails>>> chunks = new ArrayList<>();
+        for(int from = 0; from < keys.size(); from += batchSize){
+            chunks.add(fetchBatchAsync(requestFactory.apply(keys.subList(from, Math.min(keys.size(), from + batchSize)))));
+        }
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> chunks.stream()
+                        .flatMap(chunk -> chunk.join().stream())
+                        .toList());
+    }
+
+    private CompletableFuture<List<UserDetails>> fetchBatchAsync(UserBatchRequest batchRequest){
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(batchRequest);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(
+                    new AuthServiceClientException("Could not write batch request", e, AuthServiceClientException.NO_STATUS, false));
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(authClientConfiguration.getUrl() + "/api/v1/auth/users:batch"))
+                .timeout(authClientConfiguration.getRequestTimeout())
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json");
+        if(clientAuthorization != null){
+            builder.header("Authorization", clientAuthorization);
+        }
+        return send(builder.POST(HttpRequest.BodyPublishers.ofByteArray(body)).build(), response -> {
+            List<UserInfo> users = read(response, usersReader);
+            return users.stream().map(AuthServiceClient::toUserDetails).toList();
+        }, 0);
+    }
+
+    public CompletableFuture<TokenRevocations> getRevocations(Long since){
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(authClientConfiguration.getUrl() + "/api/v1/auth/revocations"
+                        + (since == null ? "" : "?since=" + since)))
+                .timeout(authClientConfiguration.getRequestTimeout())
+                .header("Accept", "application/json");
+        if(clientAuthorization != null){
+            builder.header("Authorization", clientAuthorization);
+        }
+        return send(builder.GET().build(), response -> read(response, revocationsReader), 0);
+    }
+
+    private static UserDetails toUserDetails(UserInfo userInfo){
+        return userInfo == null ? null : User.builder()
+                .id(userInfo.getId())
+                .email(userInfo.getEmail())
+                .userUid(userInfo.getUserUid())
+                .role(userInfo.getRole())
+                .build();
+    }
+
+    public Claims verifyToken(String token){
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    private <T> CompletableFuture<T> send(HttpRequest httpRequest, Function<HttpResponse<byte[]>, T> handler, int attempt){
+        return httpClient.sendAsync(httpRequest, BODY_HANDLER)
+                .thenApply(handler)
+                .handle((result, failure) -> failure == null
+                        ? CompletableFuture.completedFuture(result)
+                        : retry(httpRequest, handler, attempt, toClientException(failure)))
+                .thenCompose(Function.identity());
+    }
+
+    private <T> CompletableFuture<T> retry(HttpRequest httpRequest, Function<HttpResponse<byte[]>, T> handler, int attempt, AuthServiceClientException failure){
+        if(!failure.isRetryable() || attempt >= authClientConfiguration.getMaxRetries()){
+            return CompletableFuture.failedFuture(failure);
+        }
+        long delay = backoff(attempt);
+        log.debug("Retrying {} in {} ms after: {}", httpRequest.uri().getPath(), delay, failure.getMessage());
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                .thenCompose(ignored -> send(httpRequest, handler, attempt + 1));
+    }
+
+    private long backoff(int attempt){
+        long base = authClientConfiguration.getRetryBackoff().toMillis();
+        long cap = authClientConfiguration.getMaxRetryBackoff().toMillis();
+        long ceiling = Math.min(cap, base << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private <T> T read(HttpResponse<byte[]> response, ObjectReader reader){
+        int status = response.statusCode();
+        if(status != OK){
+            throw new AuthServiceClientException("Auth service responded with " + status, status,
+                    status >= 500 || status == 429);
+        }
+        try {
+            return reader.readValue(response.body());
+        } catch (IOException e) {
+            throw new AuthServiceClientException("Could not read user info", e, status, false);
+        }
+    }
 
+    private static AuthServiceClientException toClientException(Throwable failure){
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if(cause instanceof AuthServiceClientException clientException){
+            return clientException;
+        }
+        if(cause instanceof IOException){
+            return new AuthServiceClientException("Auth service request failed", cause, AuthServiceClientException.NO_STATUS, true);
+        }
+        return new AuthServiceClientException("Auth service request failed", cause, AuthServiceClientException.NO_STATUS, false);
+    }
+
+    private static String clientAuthorization(AuthClientConfiguration configuration){
+        if(configuration.getClientId() == null || configuration.getClientSecret() == null){
             return null;
         }
+        String credentials = configuration.getClientId() + ":" + configuration.getClientSecret();
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Optional<Executor> virtualThreadExecutor(){
+        try {
+            return Optional.of((Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null));
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual threads requested but not supported by Java {}, using the default executor",
+                    Runtime.version().feature());
+            return Optional.empty();
+        }
     }
 }
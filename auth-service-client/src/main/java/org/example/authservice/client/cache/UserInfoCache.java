@@ -0,0 +1,99 @@
+package org.example.authservice.client.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.example.authservice.client.config.AuthClientConfiguration;
+import org.example.authservice.client.exception.AuthServiceClientException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+
+public class UserInfoCache {
+    private static final int NOT_FOUND = 404;
+
+    private final AsyncLoadingCache<String, VersionedUser> cache;
+
+    public UserInfoCache(BiFunction<String, VersionedUser, CompletableFuture<VersionedUser>> fetcher, AuthClientConfiguration configuration) {
+        this(fetcher, configuration, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    UserInfoCache(BiFunction<String, VersionedUser, CompletableFuture<VersionedUser>> fetcher, AuthClientConfiguration configuration,
+                  Ticker ticker, Executor executor) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(configuration.getCacheMaximumSize())
+                .expireAfter(new UserInfoExpiry(configuration.getCacheTtl().toNanos(), configuration.getNegativeCacheTtl().toNanos()))
+                .refreshAfterWrite(configuration.getCacheRefreshAfter())
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .buildAsync(new UserInfoLoader(fetcher));
+    }
+
+    public CompletableFuture<UserDetails> get(String email) {
+        return cache.get(email).thenApply(versionedUser -> {
+            if(!versionedUser.isPresent()){
+                throw new AuthServiceClientException("User " + email + " is not registered", NOT_FOUND, false);
+            }
+            return versionedUser.user();
+        });
+    }
+
+    public void invalidate(String email) {
+        cache.synchronous().invalidate(email);
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    private record UserInfoLoader(BiFunction<String, VersionedUser, CompletableFuture<VersionedUser>> fetcher)
+            implements AsyncCacheLoader<String, VersionedUser> {
+
+        @Override
+        public CompletableFuture<VersionedUser> asyncLoad(String email, Executor executor) {
+            return fetch(email, null);
+        }
+
+        @Override
+        public CompletableFuture<VersionedUser> asyncReload(String email, VersionedUser oldValue, Executor executor) {
+            return fetch(email, oldValue.isPresent() ? oldValue : null);
+        }
+
+        private CompletableFuture<VersionedUser> fetch(String email, VersionedUser previous) {
+            return fetcher.apply(email, previous)
+                    .exceptionally(failure -> {
+                        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                        if(cause instanceof AuthServiceClientException clientException && clientException.getStatusCode() == NOT_FOUND){
+                            return VersionedUser.ABSENT;
+                        }
+                        throw failure instanceof CompletionException completionException ? completionException : new CompletionException(failure);
+                    });
+        }
+    }
+
+    private record UserInfoExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<String, VersionedUser> {
+
+        @Override
+        public long expireAfterCreate(String email, VersionedUser user, long currentTime) {
+            return user.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String email, VersionedUser user, long currentTime, long currentDuration) {
+            return expireAfterCreate(email, user, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String email, VersionedUser user, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.authservice.client.cache;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+public record VersionedUser(UserDetails user, String etag) {
+    static final VersionedUser ABSENT = new VersionedUser(null, null);
+
+    public boolean isPresent() {
+        return user != null;
+    }
+}
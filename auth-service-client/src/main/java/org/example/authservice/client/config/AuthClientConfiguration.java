@@ -16,4 +16,23 @@ public class AuthClientConfiguration {
 
     private String url;
     private Duration timeout;
+    private Duration jwksMinRefreshInterval = Duration.ofSeconds(30);
+    private boolean http2 = true;
+    private Duration requestTimeout;
+    private int maxRetries = 2;
+    private Duration retryBackoff = Duration.ofMillis(100);
+    private Duration maxRetryBackoff = Duration.ofSeconds(2);
+    private boolean cacheEnabled = true;
+    private long cacheMaximumSize = 10000;
+    private Duration cacheTtl = Duration.ofSeconds(60);
+    private Duration cacheRefreshAfter = Duration.ofSeconds(30);
+    private Duration negativeCacheTtl = Duration.ofSeconds(5);
+    private int batchSize = 500;
+    private boolean virtualThreads = false;
+    private String clientId;
+    private String clientSecret;
+
+    public Duration getRequestTimeout() {
+        return requestTimeout == null ? timeout : requestTimeout;
+    }
 }
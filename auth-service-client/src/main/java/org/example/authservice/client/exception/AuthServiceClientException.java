@@ -0,0 +1,23 @@
+package org.example.authservice.client.exception;
+
+import lombok.Getter;
+
+@Getter
+public class AuthServiceClientException extends RuntimeException {
+    public static final int NO_STATUS = -1;
+
+    private final int statusCode;
+    private final boolean retryable;
+
+    public AuthServiceClientException(String message, int statusCode, boolean retryable) {
+        super(message);
+        this.statusCode = statusCode;
+        this.retryable = retryable;
+    }
+
+    public AuthServiceClientException(String message, Throwable cause, int statusCode, boolean retryable) {
+        super(message, cause);
+        this.statusCode = statusCode;
+        this.retryable = retryable;
+    }
+}
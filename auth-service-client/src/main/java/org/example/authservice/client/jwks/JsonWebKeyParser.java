@@ -0,0 +1,74 @@
+package org.example.authservice.client.jwks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+final class JsonWebKeyParser {
+
+    private JsonWebKeyParser() {
+    }
+
+    static Map<String, Key> parse(JsonNode jwks) {
+        Map<String, Key> keys = new HashMap<>();
+        for (JsonNode jwk : jwks.path("keys")) {
+            String keyId = jwk.path("kid").asText(null);
+            if(keyId == null || !"sig".equals(jwk.path("use").asText("sig"))){
+                continue;
+            }
+            try {
+                Key key = toKey(jwk);
+                if(key != null){
+                    keys.put(keyId, key);
+                }
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.warn("Skipping invalid JWK {}", keyId, e);
+            }
+        }
+        return keys;
+    }
+
+    private static Key toKey(JsonNode jwk) throws GeneralSecurityException {
+        switch (jwk.path("kty").asText()) {
+            case "RSA":
+                return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                        decode(jwk, "n"), decode(jwk, "e")));
+            case "EC":
+                AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                parameters.init(new ECGenParameterSpec(curveName(jwk.path("crv").asText())));
+                ECParameterSpec spec = parameters.getParameterSpec(ECParameterSpec.class);
+                return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(
+                        new ECPoint(decode(jwk, "x"), decode(jwk, "y")), spec));
+            default:
+                log.debug("Unsupported JWK type {}", jwk.path("kty").asText());
+                return null;
+        }
+    }
+
+    private static String curveName(String crv) {
+        return switch (crv) {
+            case "P-256" -> "secp256r1";
+            case "P-384" -> "secp384r1";
+            case "P-521" -> "secp521r1";
+            default -> throw new IllegalArgumentException("Unsupported curve " + crv);
+        };
+    }
+
+    private static BigInteger decode(JsonNode jwk, String field) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path(field).asText()));
+    }
+}
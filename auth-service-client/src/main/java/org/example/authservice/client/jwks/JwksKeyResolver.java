@@ -0,0 +1,111 @@
+package org.example.authservice.client.jwks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.example.authservice.client.config.AuthClientConfiguration;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Component
+public class JwksKeyResolver extends SigningKeyResolverAdapter {
+
+    private final AuthClientConfiguration authClientConfiguration;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<CompletableFuture<Map<String, Key>>> refresh = new AtomicReference<>();
+    private volatile Map<String, Key> keys = Map.of();
+    private volatile long lastRefreshNanos;
+
+    public JwksKeyResolver(AuthClientConfiguration authClientConfiguration) {
+        this.authClientConfiguration = authClientConfiguration;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(authClientConfiguration.getTimeout())
+                .build();
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String keyId = header.getKeyId();
+        if(keyId == null){
+            throw new SignatureException("Token has no key id");
+        }
+        Key key = keys.get(keyId);
+        if(key == null){
+            key = awaitRefresh().get(keyId);
+        }
+        if(key == null){
+            throw new SignatureException("Unknown signing key " + keyId);
+        }
+        return key;
+    }
+
+    public CompletableFuture<Map<String, Key>> refresh() {
+        CompletableFuture<Map<String, Key>> inFlight = refresh.get();
+        if(inFlight != null && !inFlight.isDone()){
+            return inFlight;
+        }
+        if(lastRefreshNanos != 0 && System.nanoTime() - lastRefreshNanos < authClientConfiguration.getJwksMinRefreshInterval().toNanos()){
+            return CompletableFuture.completedFuture(keys);
+        }
+        CompletableFuture<Map<String, Key>> next = new CompletableFuture<>();
+        if(!refresh.compareAndSet(inFlight, next)){
+            return refresh.get();
+        }
+        lastRefreshNanos = System.nanoTime();
+        HttpRequest httpRequest = HttpRequest.newBuilder()
+                .uri(URI.create(authClientConfiguration.getUrl() + "/.well-known/jwks.json"))
+                .timeout(authClientConfiguration.getTimeout())
+                .GET()
+                .build();
+        httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if(response.statusCode() != 200){
+                        throw new IllegalStateException("JWKS endpoint responded with " + response.statusCode());
+                    }
+                    try {
+                        return JsonWebKeyParser.parse(objectMapper.readTree(response.body()));
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Cannot read JWKS", e);
+                    }
+                })
+                .whenComplete((fetchedKeys, throwable) -> {
+                    if(throwable != null){
+                        log.warn("Cannot refresh JWKS, keeping {} known keys", keys.size(), throwable);
+                        next.complete(keys);
+                    } else {
+                        log.info("Refreshed JWKS, {} keys known", fetchedKeys.size());
+                        keys = Map.copyOf(fetchedKeys);
+                        next.complete(keys);
+                    }
+                });
+        return next;
+    }
+
+    private Map<String, Key> awaitRefresh() {
+        try {
+            return refresh().get(authClientConfiguration.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return keys;
+        } catch (ExecutionException | TimeoutException e) {
+            return keys;
+        }
+    }
+}
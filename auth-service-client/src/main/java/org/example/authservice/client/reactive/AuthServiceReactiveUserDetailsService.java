@@ -0,0 +1,18 @@
+package org.example.authservice.client.reactive;
+
+import lombok.RequiredArgsConstructor;
+import org.example.authservice.client.AuthServiceClient;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class AuthServiceReactiveUserDetailsService implements ReactiveUserDetailsService {
+
+    private final AuthServiceClient authServiceClient;
+
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return Mono.fromFuture(() -> authServiceClient.getInfoAsync(username));
+    }
+}
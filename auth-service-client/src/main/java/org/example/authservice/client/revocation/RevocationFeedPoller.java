@@ -0,0 +1,52 @@
+package org.example.authservice.client.revocation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.authservice.client.AuthServiceClient;
+import org.example.authservice.domain.dto.TokenRevocations;
+import org.example.authservice.filter.revocation.TokenRevocationRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletionException;
+
+@Component
+@ConditionalOnClass(name = "org.example.authservice.filter.revocation.TokenRevocationRegistry")
+@ConditionalOnProperty(prefix = "service.authservice.client", name = "revocation-feed-enabled", havingValue = "true")
+@Slf4j
+public class RevocationFeedPoller {
+
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private final AuthServiceClient authServiceClient;
+    private final TokenRevocationRegistry registry;
+    private volatile Long until;
+
+    public RevocationFeedPoller(AuthServiceClient authServiceClient, TokenRevocationRegistry registry) {
+        this.authServiceClient = authServiceClient;
+        this.registry = registry;
+    }
+
+    @Scheduled(fixedDelayString = "${service.authservice.client.revocation-feed-interval:5000}")
+    public void poll() {
+        TokenRevocations revocations;
+        try {
+            revocations = authServiceClient.getRevocations(until == null ? null : until - POLL_OVERLAP.toMillis()).join();
+        } catch (CompletionException e) {
+            log.warn("Could not poll token revocations: {}", e.getCause().getMessage());
+            return;
+        }
+        if(revocations.getTokens() != null){
+            revocations.getTokens().forEach(token -> registry.revoke(token.getId(), Instant.ofEpochMilli(token.getExpiresAt())));
+        }
+        if(revocations.getEpochs() != null){
+            revocations.getEpochs().forEach(epoch -> registry.revokeAll(epoch.getUserUid(), epoch.getEpoch(),
+                    Instant.ofEpochMilli(epoch.getExpiresAt())));
+        }
+        registry.purgeExpired();
+        until = revocations.getUntil();
+    }
+}
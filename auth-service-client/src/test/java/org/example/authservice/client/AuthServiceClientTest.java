@@ -2,15 +2,42 @@ package org.example.authservice.client;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.matching.RequestPatternBuilder;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
 import lombok.SneakyThrows;
+import org.example.authservice.client.config.AuthClientConfiguration;
+import org.example.authservice.client.exception.AuthServiceClientException;
+import org.example.authservice.client.jwks.JwksKeyResolver;
+import org.example.authservice.client.revocation.RevocationFeedPoller;
+import org.example.authservice.domain.dto.UserInfo;
+import org.example.authservice.domain.entity.Role;
 import org.example.authservice.domain.entity.User;
+import org.example.authservice.filter.configuration.TokenRevocationConfiguration;
+import org.example.authservice.filter.model.TokenClaims;
+import org.example.authservice.filter.model.VerifiedToken;
+import org.example.authservice.filter.revocation.TokenRevocationRegistry;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.TestPropertySource;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 
 @SpringBootTest(webEnvironment= SpringBootTest.WebEnvironment.DEFINED_PORT, classes = TestApplication.class)
@@ -23,6 +50,12 @@ public class AuthServiceClientTest {
     @Autowired
     AuthServiceClient authServiceClient;
 
+    @Autowired
+    AuthClientConfiguration authClientConfiguration;
+
+    @Autowired
+    JwksKeyResolver jwksKeyResolver;
+
     @BeforeAll
     void beforeAll(){
         server.start();
@@ -47,6 +80,183 @@ public class AuthServiceClientTest {
         Assertions.assertEquals(email, user.getEmail());
     }
 
+    @Test
+    void shouldGetUserInfoAsynchronously(){
+        // given
+        String email = "async-email";
+        configureMockServer(email);
+
+        // when
+        List<CompletableFuture<UserDetails>> futures = new ArrayList<>();
+        for(int i = 0; i < 50; i++){
+            futures.add(authServiceClient.getInfoAsync(email));
+        }
+
+        // then
+        futures.forEach(future -> Assertions.assertEquals(email, future.join().getUsername()));
+    }
+
+    @Test
+    void shouldRetryServerErrors(){
+        // given
+        String email = "retried-email";
+        server.stubFor(get(urlEqualTo("/api/v1/auth/getInfo?email=" + email))
+                .inScenario("retry")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(503))
+                .willSetStateTo("recovered"));
+        server.stubFor(get(urlEqualTo("/api/v1/auth/getInfo?email=" + email))
+                .inScenario("retry")
+                .whenScenarioStateIs("recovered")
+                .willReturn(aResponse().withBody(serializedUser(email))));
+
+        // when
+        UserDetails user = authServiceClient.sendGetInfo(email);
+
+        // then
+        Assertions.assertEquals(email, user.getUsername());
+        server.verify(2, getRequestedFor(urlEqualTo("/api/v1/auth/getInfo?email=" + email)));
+    }
+
+    @Test
+    void shouldFailWithTypedExceptionWithoutRetryingClientErrors(){
+        // given
+        String email = "missing-email";
+        server.stubFor(get(urlEqualTo("/api/v1/auth/getInfo?email=" + email))
+                .willReturn(aResponse().withStatus(404)));
+
+        // when
+        AuthServiceClientException exception = Assertions.assertThrows(AuthServiceClientException.class,
+                () -> authServiceClient.sendGetInfo(email));
+
+        // then
+        Assertions.assertEquals(404, exception.getStatusCode());
+        Assertions.assertFalse(exception.isRetryable());
+        server.verify(1, getRequestedFor(urlEqualTo("/api/v1/auth/getInfo?email=" + email)));
+    }
+
+    @Test
+    void shouldGiveUpAfterConfiguredRetries(){
+        // given
+        String email = "failing-email";
+        server.stubFor(get(urlEqualTo("/api/v1/auth/getInfo?email=" + email))
+                .willReturn(aResponse().withStatus(500)));
+
+        // when
+        CompletionException exception = Assertions.assertThrows(CompletionException.class,
+                () -> authServiceClient.getInfoAsync(email).join());
+
+        // then
+        AuthServiceClientException cause = (AuthServiceClientException) exception.getCause();
+        Assertions.assertEquals(500, cause.getStatusCode());
+        Assertions.assertTrue(cause.isRetryable());
+        server.verify(3, getRequestedFor(urlEqualTo("/api/v1/auth/getInfo?email=" + email)));
+    }
+
+    @Test
+    void shouldRevalidateCachedUserWithEtag() throws InterruptedException {
+        // given
+        String email = "etag-email";
+        String url = "/api/v1/auth/getInfo?email=" + email;
+        server.stubFor(get(urlEqualTo(url))
+                .atPriority(2)
+                .willReturn(aResponse().withHeader("ETag", "\"v1\"").withBody(serializedUser(email))));
+        server.stubFor(get(urlEqualTo(url))
+                .atPriority(1)
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304)));
+        AuthClientConfiguration configuration = new AuthClientConfiguration();
+        configuration.setUrl(authClientConfiguration.getUrl());
+        configuration.setTimeout(authClientConfiguration.getTimeout());
+        configuration.setCacheRefreshAfter(Duration.ofMillis(1));
+        AuthServiceClient client = new AuthServiceClient(configuration, jwksKeyResolver);
+        UserDetails first = client.getInfoAsync(email).join();
+        Thread.sleep(5);
+
+        // when
+        client.getInfoAsync(email).join();
+        awaitRequests(getRequestedFor(urlEqualTo(url)).withHeader("If-None-Match", equalTo("\"v1\"")));
+        Thread.sleep(5);
+        UserDetails revalidated = client.getInfoAsync(email).join();
+
+        // then
+        Assertions.assertSame(first, revalidated);
+    }
+
+    private void awaitRequests(RequestPatternBuilder pattern) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while(server.findAll(pattern).isEmpty() && System.currentTimeMillis() < deadline){
+            Thread.sleep(10);
+        }
+        Assertions.assertFalse(server.findAll(pattern).isEmpty());
+    }
+
+    @Test
+    void shouldResolveBatchInChunksPreservingOrder(){
+        // given
+        stubBatch(List.of("batch-1", "batch-2"), List.of(serializedUser("batch-1"), "null"));
+        stubBatch(List.of("batch-3", "batch-4"), List.of(serializedUser("batch-3"), serializedUser("batch-4")));
+        stubBatch(List.of("batch-5"), List.of(serializedUser("batch-5")));
+
+        // when
+        List<UserDetails> users = authServiceClient.getInfoBatch(List.of("batch-1", "batch-2", "batch-3", "batch-4", "batch-5")).join();
+
+        // then
+        Assertions.assertEquals(5, users.size());
+        Assertions.assertEquals("batch-1", users.get(0).getUsername());
+        Assertions.assertEquals(Role.USER, ((User) users.get(0)).getRole());
+        Assertions.assertNull(users.get(1));
+        Assertions.assertEquals("batch-3", users.get(2).getUsername());
+        Assertions.assertEquals("batch-4", users.get(3).getUsername());
+        Assertions.assertEquals("batch-5", users.get(4).getUsername());
+        server.verify(3, postRequestedFor(urlEqualTo("/api/v1/auth/users:batch")));
+    }
+
+    @Test
+    void revocationFeedShouldFeedLocalRegistry(){
+        // given
+        long until = System.currentTimeMillis();
+        long expiresAt = until + 60_000;
+        server.stubFor(get(urlPathEqualTo("/api/v1/auth/revocations"))
+                .withBasicAuth("test-client", "test-secret")
+                .willReturn(aResponse().withBody("{\"until\":" + until
+                        + ",\"tokens\":[{\"id\":\"revoked-jti\",\"expiresAt\":" + expiresAt + "}]"
+                        + ",\"epochs\":[{\"userUid\":\"logged-out-uid\",\"epoch\":1,\"expiresAt\":" + expiresAt + "}]}")));
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(new TokenRevocationConfiguration(1000, 0.01));
+        RevocationFeedPoller poller = new RevocationFeedPoller(authServiceClient, registry);
+
+        // when
+        poller.poll();
+        poller.poll();
+
+        // then
+        Assertions.assertTrue(registry.isRevoked(new VerifiedToken("revoked-jti", "email", null, null, Map.of())));
+        Assertions.assertTrue(registry.isRevoked(new VerifiedToken("other-jti", "email", null, null,
+                Map.of(TokenClaims.USER_UID, "logged-out-uid", TokenClaims.EPOCH, 0))));
+        Assertions.assertFalse(registry.isRevoked(new VerifiedToken("other-jti", "email", null, null, Map.of())));
+        server.verify(getRequestedFor(urlEqualTo("/api/v1/auth/revocations")));
+        server.verify(getRequestedFor(urlEqualTo("/api/v1/auth/revocations?since=" + (until - 60_000))));
+    }
+
+    @SneakyThrows
+    private void stubBatch(List<String> emails, List<String> serializedUsers){
+        String request = new ObjectMapper().writeValueAsString(Map.of("emails", emails, "userUids", List.of()));
+        server.stubFor(post(urlEqualTo("/api/v1/auth/users:batch"))
+                .withBasicAuth("test-client", "test-secret")
+                .withRequestBody(equalToJson(request))
+                .willReturn(aResponse().withBody("[" + String.join(",", serializedUsers) + "]")));
+    }
+
+    @SneakyThrows
+    private String serializedUser(String email){
+        UserInfo userInfo = UserInfo.builder()
+                .userUid("userUid")
+                .email(email)
+                .id(1)
+                .role(Role.USER)
+                .build();
+        return new ObjectMapper().writeValueAsString(userInfo);
+    }
 
     @SneakyThrows
     private void configureMockServer(String email){
@@ -60,4 +270,77 @@ public class AuthServiceClientTest {
         server.stubFor(get(urlEqualTo("/api/v1/auth/getInfo?email=" + email))
                 .willReturn(aResponse().withBody(serializedUser)));
     }
+
+    @Test
+    void shouldVerifyTokenWithKeyFromJwks(){
+        // given
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        configureJwks("first-key", keyPair);
+        String token = signToken("first-key", keyPair, "test-email");
+
+        // when
+        Claims claims = authServiceClient.verifyToken(token);
+
+        // then
+        Assertions.assertEquals("test-email", claims.getSubject());
+    }
+
+    @Test
+    void shouldRefreshJwksWhenUnknownKeyIdAppears(){
+        // given
+        KeyPair firstKeyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        configureJwks("rotated-first-key", firstKeyPair);
+        authServiceClient.verifyToken(signToken("rotated-first-key", firstKeyPair, "test-email"));
+        KeyPair secondKeyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        configureJwks("rotated-second-key", secondKeyPair);
+
+        // when
+        Claims claims = authServiceClient.verifyToken(signToken("rotated-second-key", secondKeyPair, "test-email"));
+
+        // then
+        Assertions.assertEquals("test-email", claims.getSubject());
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithUnknownKey(){
+        // given
+        KeyPair publishedKeyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        configureJwks("published-key", publishedKeyPair);
+        String token = signToken("unpublished-key", Keys.keyPairFor(SignatureAlgorithm.RS256), "test-email");
+
+        // when and then
+        Assertions.assertThrows(JwtException.class, () -> authServiceClient.verifyToken(token));
+    }
+
+    private String signToken(String keyId, KeyPair keyPair, String subject){
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyId)
+                .setSubject(subject)
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    @SneakyThrows
+    private void configureJwks(String keyId, KeyPair keyPair){
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        Map<String, Object> jwk = Map.of(
+                "kty", "RSA",
+                "kid", keyId,
+                "use", "sig",
+                "alg", "RS256",
+                "n", base64Url(publicKey.getModulus()),
+                "e", base64Url(publicKey.getPublicExponent()));
+        String jwks = new ObjectMapper().writeValueAsString(Map.of("keys", List.of(jwk)));
+        server.stubFor(get(urlEqualTo("/.well-known/jwks.json"))
+                .willReturn(aResponse().withBody(jwks)));
+    }
+
+    private String base64Url(BigInteger value){
+        byte[] bytes = value.toByteArray();
+        if(bytes[0] == 0){
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
 }
@@ -0,0 +1,126 @@
+package org.example.authservice.client.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.example.authservice.client.config.AuthClientConfiguration;
+import org.example.authservice.client.exception.AuthServiceClientException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class UserInfoCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final Queue<CompletableFuture<VersionedUser>> inFlight = new ConcurrentLinkedQueue<>();
+    private final Queue<VersionedUser> previousVersions = new ConcurrentLinkedQueue<>();
+    private UserInfoCache userInfoCache;
+
+    @BeforeEach
+    void beforeEach(){
+        AuthClientConfiguration configuration = new AuthClientConfiguration();
+        configuration.setCacheTtl(Duration.ofMinutes(5));
+        configuration.setCacheRefreshAfter(Duration.ofMinutes(1));
+        configuration.setNegativeCacheTtl(Duration.ofSeconds(5));
+        userInfoCache = new UserInfoCache((email, previous) -> {
+            fetches.incrementAndGet();
+            if(previous != null){
+                previousVersions.add(previous);
+            }
+            if(email.startsWith("unknown")){
+                return CompletableFuture.failedFuture(new AuthServiceClientException("Not found", 404, false));
+            }
+            if(email.startsWith("slow")){
+                CompletableFuture<VersionedUser> future = new CompletableFuture<>();
+                inFlight.add(future);
+                return future;
+            }
+            return CompletableFuture.completedFuture(versioned(email));
+        }, configuration, ticker, Runnable::run);
+    }
+
+    @Test
+    void concurrentMissesShouldShareOneRequest(){
+        // given
+        List<CompletableFuture<UserDetails>> lookups = new ArrayList<>();
+
+        // when
+        for(int i = 0; i < 100; i++){
+            lookups.add(userInfoCache.get("slow-email"));
+        }
+        inFlight.forEach(future -> future.complete(versioned("slow-email")));
+
+        // then
+        Assertions.assertEquals(1, fetches.get());
+        lookups.forEach(lookup -> Assertions.assertEquals("slow-email", lookup.join().getUsername()));
+    }
+
+    @Test
+    void shouldCacheUnknownUsersForNegativeTtl(){
+        // when
+        CompletionException first = Assertions.assertThrows(CompletionException.class, () -> userInfoCache.get("unknown-email").join());
+        Assertions.assertThrows(CompletionException.class, () -> userInfoCache.get("unknown-email").join());
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+        Assertions.assertThrows(CompletionException.class, () -> userInfoCache.get("unknown-email").join());
+
+        // then
+        Assertions.assertEquals(404, ((AuthServiceClientException) first.getCause()).getStatusCode());
+        Assertions.assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void shouldServeStaleValueWhileRefreshing(){
+        // given
+        CompletableFuture<UserDetails> lookup = userInfoCache.get("slow-email");
+        inFlight.poll().complete(versioned("slow-email"));
+        UserDetails first = lookup.join();
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        // when
+        UserDetails stale = userInfoCache.get("slow-email").join();
+        inFlight.poll().complete(versioned("slow-email"));
+        UserDetails refreshed = userInfoCache.get("slow-email").join();
+
+        // then
+        Assertions.assertSame(first, stale);
+        Assertions.assertNotSame(first, refreshed);
+        Assertions.assertEquals(2, fetches.get());
+        Assertions.assertSame(first, previousVersions.poll().user());
+    }
+
+    @Test
+    void failedLookupsShouldNotBeCached(){
+        // given
+        userInfoCache.get("slow-email");
+        inFlight.poll().completeExceptionally(new AuthServiceClientException("Unavailable", 503, true));
+
+        // when
+        userInfoCache.get("slow-email");
+
+        // then
+        Assertions.assertEquals(2, fetches.get());
+    }
+
+    private static VersionedUser versioned(String email){
+        return new VersionedUser(user(email), "\"" + email + "\"");
+    }
+
+    private static UserDetails user(String email){
+        return User.builder()
+                .username(email)
+                .password("password")
+                .build();
+    }
+}
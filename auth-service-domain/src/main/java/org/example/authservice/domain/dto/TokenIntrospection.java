@@ -0,0 +1,28 @@
+package org.example.authservice.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"active", "sub", "exp", "role"})
+public class TokenIntrospection {
+    private boolean active;
+    @JsonProperty("sub")
+    private String subject;
+    @JsonProperty("exp")
+    private Long expiresAt;
+    private String role;
+
+    public static TokenIntrospection inactive() {
+        return TokenIntrospection.builder().active(false).build();
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.authservice.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenIntrospectionRequest {
+    @Builder.Default
+    private List<String> tokens = List.of();
+}
@@ -0,0 +1,37 @@
+package org.example.authservice.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenRevocations {
+    private long until;
+    private List<RevokedToken> tokens;
+    private List<RevokedEpoch> epochs;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RevokedToken {
+        private String id;
+        private long expiresAt;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RevokedEpoch {
+        private String userUid;
+        private int epoch;
+        private long expiresAt;
+    }
+}
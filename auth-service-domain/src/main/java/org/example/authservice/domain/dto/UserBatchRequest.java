@@ -0,0 +1,19 @@
+package org.example.authservice.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserBatchRequest {
+    @Builder.Default
+    private List<String> emails = List.of();
+    @Builder.Default
+    private List<String> userUids = List.of();
+}
@@ -0,0 +1,18 @@
+package org.example.authservice.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.authservice.domain.entity.Role;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserInfo {
+    private Integer id;
+    private String email;
+    private String userUid;
+    private Role role;
+}
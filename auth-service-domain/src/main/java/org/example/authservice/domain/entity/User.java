@@ -7,9 +7,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.example.authservice.domain.entity.Role;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.List;
 
 @Data
 @Builder
@@ -22,6 +24,7 @@ public class User implements UserDetails {
     @GeneratedValue
     private Integer id;
 
+    @Column(nullable = false)
     private String email;
 
     private String password;
@@ -31,9 +34,13 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer tokenEpoch = 0;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return null;
+        return role == null ? List.of() : List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
     }
 
     @Override
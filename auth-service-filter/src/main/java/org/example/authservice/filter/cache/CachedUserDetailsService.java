@@ -0,0 +1,87 @@
+package org.example.authservice.filter.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.example.authservice.filter.configuration.UserDetailsCacheConfiguration;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+@Slf4j
+public class CachedUserDetailsService implements UserDetailsService {
+
+    private final UserDetailsService delegate;
+    private final AsyncLoadingCache<String, UserDetails> cache;
+
+    public CachedUserDetailsService(UserDetailsService delegate, UserDetailsCacheConfiguration configuration) {
+        this(delegate, configuration, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    CachedUserDetailsService(UserDetailsService delegate, UserDetailsCacheConfiguration configuration,
+                             Ticker ticker, Executor refreshExecutor) {
+        this.delegate = delegate;
+        this.cache = configuration.isEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(configuration.getMaximumSize())
+                        .expireAfterWrite(Duration.ofMillis(configuration.getTtl()))
+                        .refreshAfterWrite(Duration.ofMillis(configuration.getRefreshAfter()))
+                        .ticker(ticker)
+                        .executor(refreshExecutor)
+                        .recordStats()
+                        .buildAsync(new UserDetailsLoader(delegate))
+                : null;
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        if(cache == null){
+            return delegate.loadUserByUsername(username);
+        }
+        return SingleFlight.load(cache, username, () -> delegate.loadUserByUsername(username));
+    }
+
+    public void invalidate(String username) {
+        if(cache != null){
+            cache.synchronous().invalidate(username);
+        }
+    }
+
+    public void invalidateAll() {
+        if(cache != null){
+            cache.synchronous().invalidateAll();
+        }
+    }
+
+    public CacheStats stats() {
+        return cache == null ? CacheStats.empty() : cache.synchronous().stats();
+    }
+
+    private record UserDetailsLoader(UserDetailsService delegate) implements AsyncCacheLoader<String, UserDetails> {
+
+        @Override
+        public CompletableFuture<UserDetails> asyncLoad(String username, Executor executor) {
+            return CompletableFuture.supplyAsync(() -> delegate.loadUserByUsername(username), executor);
+        }
+
+        @Override
+        public CompletableFuture<UserDetails> asyncReload(String username, UserDetails oldValue, Executor executor) {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return delegate.loadUserByUsername(username);
+                } catch (UsernameNotFoundException e) {
+                    log.info("User {} no longer exists, dropping cached details", username);
+                    return null;
+                }
+            }, executor);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.authservice.filter.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+public final class SingleFlight {
+
+    private SingleFlight() {
+    }
+
+    public static <K, V> V load(AsyncCache<K, V> cache, K key, Supplier<V> loader) {
+        CompletableFuture<V> cached = cache.getIfPresent(key);
+        return cached != null ? join(cached) : load(cache.asMap(), key, loader);
+    }
+
+    public static <K, V> V load(ConcurrentMap<K, CompletableFuture<V>> futures, K key, Supplier<V> loader) {
+        CompletableFuture<V> existing = futures.get(key);
+        if(existing == null){
+            CompletableFuture<V> loading = new CompletableFuture<>();
+            existing = futures.putIfAbsent(key, loading);
+            if(existing == null){
+                return load(futures, key, loading, loader);
+            }
+        }
+        return join(existing);
+    }
+
+    private static <K, V> V load(ConcurrentMap<K, CompletableFuture<V>> futures, K key,
+                                 CompletableFuture<V> loading, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            loading.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            futures.remove(key, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof RuntimeException runtimeException){
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,21 +1,48 @@
 package org.example.authservice.filter.configuration;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 @Configuration
-@AllArgsConstructor
 @RequiredArgsConstructor
 @Getter
+@Setter
 public class JwtGeneratorConfiguration {
 
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
     @Value("${application.security.jwt.refresh-token.expiration}")
     private long refreshExpiration;
-    @Value("${application.security.jwt.secret-key}")
+    @Value("${application.security.jwt.secret-key:}")
     private String secretKey;
+    @Value("${application.security.jwt.cache.enabled:false}")
+    private boolean tokenCacheEnabled;
+    @Value("${application.security.jwt.cache.maximum-size:10000}")
+    private long tokenCacheMaximumSize;
+    @Value("${application.security.jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+    @Value("${application.security.jwt.signing.algorithm:HS256}")
+    private String signingAlgorithm;
+    @Value("${application.security.jwt.signing.key-id:}")
+    private String signingKeyId;
+    @Value("${application.security.jwt.signing.private-key:}")
+    private String signingPrivateKey;
+    @Value("${application.security.jwt.signing.public-key:}")
+    private String signingPublicKey;
+    @Value("${application.security.jwt.signing.allow-ephemeral-key:false}")
+    private boolean allowEphemeralKey;
+    @Value("${application.security.jwt.signing.previous-public-keys:}")
+    private List<String> previousPublicKeys = List.of();
+
+    public JwtGeneratorConfiguration(long jwtExpiration, long refreshExpiration, String secretKey) {
+        this.jwtExpiration = jwtExpiration;
+        this.refreshExpiration = refreshExpiration;
+        this.secretKey = secretKey;
+        this.signingAlgorithm = "HS256";
+    }
 }
@@ -0,0 +1,24 @@
+package org.example.authservice.filter.configuration;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@RequiredArgsConstructor
+@Getter
+@Setter
+public class TokenRevocationConfiguration {
+
+    @Value("${application.security.revocation.expected-insertions:100000}")
+    private int expectedInsertions;
+    @Value("${application.security.revocation.false-positive-probability:0.01}")
+    private double falsePositiveProbability;
+
+    public TokenRevocationConfiguration(int expectedInsertions, double falsePositiveProbability) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.authservice.filter.configuration;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@RequiredArgsConstructor
+@Getter
+@Setter
+public class UserDetailsCacheConfiguration {
+
+    @Value("${application.security.user-cache.enabled:false}")
+    private boolean enabled;
+    @Value("${application.security.user-cache.maximum-size:10000}")
+    private long maximumSize;
+    @Value("${application.security.user-cache.ttl:300000}")
+    private long ttl;
+    @Value("${application.security.user-cache.refresh-after:60000}")
+    private long refreshAfter;
+
+    public UserDetailsCacheConfiguration(long maximumSize, long ttl, long refreshAfter) {
+        this.enabled = true;
+        this.maximumSize = maximumSize;
+        this.ttl = ttl;
+        this.refreshAfter = refreshAfter;
+    }
+}
@@ -1,42 +1,123 @@
 package org.example.authservice.filter.filter;
 
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.example.authservice.filter.jfr.TokenFilterEvent;
+import org.example.authservice.filter.model.TokenPrincipal;
+import org.example.authservice.filter.model.VerifiedToken;
+import org.example.authservice.filter.revocation.TokenRevocationRegistry;
 import org.example.authservice.filter.service.JwtService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 @Component
-@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    private static final String REJECTED_METER = "auth.filter.rejected";
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Timer userLookupTimer;
+
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
+                                   TokenRevocationRegistry tokenRevocationRegistry) {
+        this(jwtService, userDetailsService, tokenRevocationRegistry, Metrics.globalRegistry);
+    }
+
+    @Autowired
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
+                                   TokenRevocationRegistry tokenRevocationRegistry, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(jwtService, userDetailsService, tokenRevocationRegistry, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    private JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
+                                    TokenRevocationRegistry tokenRevocationRegistry, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.meterRegistry = meterRegistry;
+        this.userLookupTimer = Timer.builder("auth.filter.user.lookup")
+                .description("Time spent resolving the user of an authenticated request")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        if(request.getServletPath().contains("/api/v1/auth")){
+        if(request.getServletPath().contains("/api/v1/auth") || request.getServletPath().startsWith("/.well-known/")
+                || request.getServletPath().equals("/actuator/health") || request.getServletPath().equals("/actuator/prometheus")){
             filterChain.doFilter(request, response);
             return;
         }
+        TokenFilterEvent event = TokenFilterEvent.start(request.getServletPath());
+        boolean authenticated;
+        try {
+            authenticated = authenticate(request, response, event);
+        } finally {
+            event.commit();
+        }
+        if(authenticated){
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private boolean authenticate(HttpServletRequest request, HttpServletResponse response, TokenFilterEvent event) throws IOException {
         final String authHeader = request.getHeader("Authorization");
         if(authHeader == null || !authHeader.startsWith("Bearer ")){
-            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Missing Authorization header");
-            return;
+            return reject(response, event, "missing_header", "Missing Authorization header");
         }
         String jwt = authHeader.substring(7);
-        String userEmail = jwtService.extractEmail(jwt);
+        VerifiedToken verifiedToken;
+        try {
+            verifiedToken = jwtService.verify(jwt);
+        } catch (ExpiredJwtException e) {
+            return reject(response, event, "expired", "Expired JWT");
+        } catch (SecurityException e) {
+            return reject(response, event, "bad_signature", "Invalid JWT signature");
+        } catch (JwtException | IllegalArgumentException e) {
+            return reject(response, event, "malformed", "Invalid JWT");
+        } finally {
+            event.verification = event.lap();
+        }
+        boolean revoked = tokenRevocationRegistry.isRevoked(verifiedToken);
+        event.revocationCheck = event.lap();
+        if(revoked){
+            return reject(response, event, "revoked", "Revoked JWT");
+        }
+        if(!verifiedToken.isAccessToken()){
+            return reject(response, event, "wrong_token_use", "Not an access token");
+        }
+        String userEmail = verifiedToken.getSubject();
         if(userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null){
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            if(jwtService.isTokenValid(jwt, userDetails)){
+            UserDetails userDetails;
+            try {
+                userDetails = userLookupTimer.record(() -> resolveUser(verifiedToken));
+            } catch (UsernameNotFoundException e) {
+                return reject(response, event, "unknown_user", "Unknown user");
+            } finally {
+                event.userLookup = event.lap();
+            }
+            if(jwtService.isTokenValid(verifiedToken, userDetails)){
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -48,9 +129,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }else{
-            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid JWT");
-            return;
+            return reject(response, event, "invalid", "Invalid JWT");
+        }
+        event.outcome = "authenticated";
+        return true;
+    }
+
+    private boolean reject(HttpServletResponse response, TokenFilterEvent event, String reason, String message) throws IOException {
+        event.outcome = reason;
+        meterRegistry.counter(REJECTED_METER, "reason", reason).increment();
+        response.sendError(HttpServletResponse.SC_UNAUTHORIZED, message);
+        return false;
+    }
+
+    private UserDetails resolveUser(VerifiedToken verifiedToken) {
+        if(jwtService.isStatelessPrincipal()){
+            TokenPrincipal principal = TokenPrincipal.from(verifiedToken);
+            if(principal != null){
+                return principal;
+            }
         }
-        filterChain.doFilter(request, response);
+        return this.userDetailsService.loadUserByUsername(verifiedToken.getSubject());
     }
 }
@@ -0,0 +1,55 @@
+package org.example.authservice.filter.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+@Name(TokenFilterEvent.NAME)
+@Label("Token Filter")
+@Description("Token authentication of a single request that took longer than the threshold")
+@Category({"Auth Service", "Filter"})
+@Threshold("20 ms")
+@StackTrace(false)
+public class TokenFilterEvent extends Event {
+    public static final String NAME = "org.example.authservice.TokenFilter";
+
+    @Label("Path")
+    public String path;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Verification")
+    @Timespan(Timespan.NANOSECONDS)
+    public long verification;
+
+    @Label("Revocation Check")
+    @Timespan(Timespan.NANOSECONDS)
+    public long revocationCheck;
+
+    @Label("User Lookup")
+    @Timespan(Timespan.NANOSECONDS)
+    public long userLookup;
+
+    private transient long mark;
+
+    public static TokenFilterEvent start(String path) {
+        TokenFilterEvent event = new TokenFilterEvent();
+        event.path = path;
+        event.begin();
+        event.mark = System.nanoTime();
+        return event;
+    }
+
+    public long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - mark;
+        mark = now;
+        return elapsed;
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.authservice.filter.key;
+
+import java.math.BigInteger;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class JsonWebKeys {
+
+    private JsonWebKeys() {
+    }
+
+    public static Map<String, Object> toJwk(SigningKey signingKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        if(signingKey.getVerificationKey() instanceof RSAPublicKey rsaKey){
+            jwk.put("kty", "RSA");
+            jwk.put("n", encode(rsaKey.getModulus(), 0));
+            jwk.put("e", encode(rsaKey.getPublicExponent(), 0));
+        } else if(signingKey.getVerificationKey() instanceof ECPublicKey ecKey){
+            int fieldSize = ecKey.getParams().getCurve().getField().getFieldSize();
+            int length = (fieldSize + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-" + fieldSize);
+            jwk.put("x", encode(ecKey.getW().getAffineX(), length));
+            jwk.put("y", encode(ecKey.getW().getAffineY(), length));
+        } else {
+            return null;
+        }
+        jwk.put("kid", signingKey.getKeyId());
+        jwk.put("use", "sig");
+        jwk.put("alg", signingKey.getAlgorithm().getValue());
+        return jwk;
+    }
+
+    private static String encode(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if(bytes.length > 1 && bytes[0] == 0){
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if(bytes.length < length){
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.authservice.filter.key;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+
+    private final Map<String, SigningKey> previousKeys = new ConcurrentHashMap<>();
+    private final SigningKey current;
+
+    public JwtKeyRing(SigningKey current) {
+        this.current = current;
+    }
+
+    public SigningKey getCurrent() {
+        return current;
+    }
+
+    public void addVerificationKey(SigningKey signingKey) {
+        previousKeys.put(signingKey.getKeyId(), signingKey.verificationOnly());
+    }
+
+    public List<SigningKey> getVerificationKeys() {
+        List<SigningKey> keys = new ArrayList<>();
+        keys.add(current);
+        keys.addAll(previousKeys.values());
+        return keys;
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String keyId = header.getKeyId();
+        if(keyId == null || keyId.equals(current.getKeyId())){
+            return current.getVerificationKey();
+        }
+        SigningKey previousKey = previousKeys.get(keyId);
+        if(previousKey == null){
+            throw new SignatureException("Unknown signing key " + keyId);
+        }
+        return previousKey.getVerificationKey();
+    }
+}
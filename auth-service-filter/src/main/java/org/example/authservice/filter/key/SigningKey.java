@@ -0,0 +1,23 @@
+package org.example.authservice.filter.key;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.Value;
+
+import java.security.Key;
+
+@Value
+public class SigningKey {
+
+    String keyId;
+    SignatureAlgorithm algorithm;
+    Key signingKey;
+    Key verificationKey;
+
+    public boolean canSign() {
+        return signingKey != null;
+    }
+
+    public SigningKey verificationOnly() {
+        return new SigningKey(keyId, algorithm, null, verificationKey);
+    }
+}
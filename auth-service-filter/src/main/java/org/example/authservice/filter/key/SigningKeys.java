@@ -0,0 +1,77 @@
+package org.example.authservice.filter.key;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.UUID;
+
+public final class SigningKeys {
+
+    private SigningKeys() {
+    }
+
+    public static SigningKey hmac(String base64Secret) {
+        var secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
+        return new SigningKey(null, SignatureAlgorithm.HS256, secretKey, secretKey);
+    }
+
+    public static SigningKey generate(SignatureAlgorithm algorithm) {
+        if(algorithm.isHmac()){
+            var secretKey = Keys.secretKeyFor(algorithm);
+            return new SigningKey(null, algorithm, secretKey, secretKey);
+        }
+        KeyPair keyPair = Keys.keyPairFor(algorithm);
+        return new SigningKey(UUID.randomUUID().toString(), algorithm, keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    public static SigningKey decode(String keyId, SignatureAlgorithm algorithm, String base64PrivateKey, String base64PublicKey) {
+        try {
+            KeyFactory keyFactory = keyFactory(algorithm);
+            return new SigningKey(keyId, algorithm,
+                    keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Decoders.BASE64.decode(base64PrivateKey))),
+                    keyFactory.generatePublic(new X509EncodedKeySpec(Decoders.BASE64.decode(base64PublicKey))));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid " + algorithm + " key pair for key id " + keyId, e);
+        }
+    }
+
+    public static SigningKey decodePublic(String keyId, String base64PublicKey) {
+        byte[] encoded = Decoders.BASE64.decode(base64PublicKey);
+        for (String family : new String[]{"RSA", "EC"}) {
+            try {
+                PublicKey publicKey = KeyFactory.getInstance(family).generatePublic(new X509EncodedKeySpec(encoded));
+                return new SigningKey(keyId, algorithmOf(publicKey), null, publicKey);
+            } catch (GeneralSecurityException e) {
+                // try the next key family
+            }
+        }
+        throw new IllegalArgumentException("Unsupported public key for key id " + keyId);
+    }
+
+    private static KeyFactory keyFactory(SignatureAlgorithm algorithm) throws GeneralSecurityException {
+        if(algorithm.isRsa()){
+            return KeyFactory.getInstance("RSA");
+        }
+        if(algorithm.isEllipticCurve()){
+            return KeyFactory.getInstance("EC");
+        }
+        throw new IllegalArgumentException("Algorithm " + algorithm + " does not use a key pair");
+    }
+
+    private static SignatureAlgorithm algorithmOf(PublicKey publicKey) {
+        if(publicKey instanceof RSAPublicKey){
+            return SignatureAlgorithm.RS256;
+        }
+        int fieldSize = ((ECPublicKey) publicKey).getParams().getCurve().getField().getFieldSize();
+        return fieldSize > 384 ? SignatureAlgorithm.ES512 : fieldSize > 256 ? SignatureAlgorithm.ES384 : SignatureAlgorithm.ES256;
+    }
+}
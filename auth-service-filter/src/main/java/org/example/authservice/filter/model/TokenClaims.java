@@ -0,0 +1,16 @@
+package org.example.authservice.filter.model;
+
+public final class TokenClaims {
+
+    public static final String ROLE = "role";
+    public static final String USER_UID = "userUid";
+    public static final String EPOCH = "epoch";
+    public static final String FAMILY_ID = "fid";
+    public static final String TOKEN_USE = "token_use";
+
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+
+    private TokenClaims() {
+    }
+}
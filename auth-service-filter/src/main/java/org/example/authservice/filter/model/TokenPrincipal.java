@@ -0,0 +1,60 @@
+package org.example.authservice.filter.model;
+
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+@Value
+public class TokenPrincipal implements UserDetails {
+
+    String email;
+    String userUid;
+    String role;
+
+    public static TokenPrincipal from(VerifiedToken token) {
+        String userUid = token.getClaim(TokenClaims.USER_UID, String.class);
+        if(token.getSubject() == null || userUid == null){
+            return null;
+        }
+        return new TokenPrincipal(token.getSubject(), userUid, token.getClaim(TokenClaims.ROLE, String.class));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return role == null ? List.of() : List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.authservice.filter.model;
+
+import io.jsonwebtoken.Claims;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Value
+public class VerifiedToken {
+
+    String id;
+    String subject;
+    Instant issuedAt;
+    Instant expiration;
+    Map<String, Object> claims;
+
+    public static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant(),
+                Map.copyOf(claims));
+    }
+
+    public <T> T getClaim(String name, Class<T> type) {
+        Object value = claims.get(name);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+
+    public long getEpoch() {
+        Number epoch = getClaim(TokenClaims.EPOCH, Number.class);
+        return epoch == null ? 0 : epoch.longValue();
+    }
+
+    public boolean isAccessToken() {
+        return TokenClaims.ACCESS_TOKEN.equals(getClaim(TokenClaims.TOKEN_USE, String.class));
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.isBefore(Instant.now());
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.authservice.filter.reactive;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+
+import java.util.List;
+
+public class BearerTokenAuthentication extends AbstractAuthenticationToken {
+
+    private final String token;
+
+    public BearerTokenAuthentication(String token) {
+        super(List.of());
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return token;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return token;
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.authservice.filter.reactive;
+
+import lombok.Getter;
+import org.springframework.security.core.AuthenticationException;
+
+@Getter
+public class JwtAuthenticationException extends AuthenticationException {
+
+    private final String reason;
+
+    public JwtAuthenticationException(String reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public JwtAuthenticationException(String reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.authservice.filter.reactive;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+    private static final String REJECTED_METER = "auth.filter.rejected";
+    private static final String ALREADY_FILTERED = ReactiveJwtAuthenticationFilter.class.getName() + ".FILTERED";
+
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final MeterRegistry meterRegistry;
+
+    public ReactiveJwtAuthenticationFilter(ReactiveAuthenticationManager authenticationManager) {
+        this(authenticationManager, Metrics.globalRegistry);
+    }
+
+    public ReactiveJwtAuthenticationFilter(ReactiveAuthenticationManager authenticationManager, MeterRegistry meterRegistry) {
+        this.authenticationManager = authenticationManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if(exchange.getAttributes().putIfAbsent(ALREADY_FILTERED, Boolean.TRUE) != null || isPublic(path)){
+            return chain.filter(exchange);
+        }
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if(authHeader == null || !authHeader.startsWith("Bearer ")){
+            return reject(exchange, "missing_header");
+        }
+        return authenticationManager.authenticate(new BearerTokenAuthentication(authHeader.substring(7)))
+                .switchIfEmpty(Mono.error(() -> new JwtAuthenticationException("invalid", "Invalid JWT")))
+                .onErrorResume(JwtAuthenticationException.class, e -> reject(exchange, e.getReason()).then(Mono.<Authentication>empty()))
+                .flatMap(authentication -> chain.filter(exchange)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication)));
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String reason) {
+        meterRegistry.counter(REJECTED_METER, "reason", reason).increment();
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return exchange.getResponse().setComplete();
+    }
+
+    private static boolean isPublic(String path) {
+        return path.contains("/api/v1/auth") || path.startsWith("/.well-known/")
+                || path.equals("/actuator/health") || path.equals("/actuator/prometheus");
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.authservice.filter.reactive;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.example.authservice.filter.model.TokenPrincipal;
+import org.example.authservice.filter.model.VerifiedToken;
+import org.example.authservice.filter.revocation.TokenRevocationRegistry;
+import org.example.authservice.filter.service.JwtService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveJwtAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final JwtService jwtService;
+    private final ReactiveUserDetailsService userDetailsService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Timer userLookupTimer;
+
+    public ReactiveJwtAuthenticationManager(JwtService jwtService, ReactiveUserDetailsService userDetailsService,
+                                            TokenRevocationRegistry tokenRevocationRegistry) {
+        this(jwtService, userDetailsService, tokenRevocationRegistry, Metrics.globalRegistry);
+    }
+
+    @Autowired
+    public ReactiveJwtAuthenticationManager(JwtService jwtService, ReactiveUserDetailsService userDetailsService,
+                                            TokenRevocationRegistry tokenRevocationRegistry, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(jwtService, userDetailsService, tokenRevocationRegistry, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    private ReactiveJwtAuthenticationManager(JwtService jwtService, ReactiveUserDetailsService userDetailsService,
+                                             TokenRevocationRegistry tokenRevocationRegistry, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.meterRegistry = meterRegistry;
+        this.userLookupTimer = Timer.builder("auth.filter.user.lookup")
+                .description("Time spent resolving the user of an authenticated request")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if(!(authentication instanceof BearerTokenAuthentication bearerToken)){
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> jwtService.verify(bearerToken.getToken()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorMap(ExpiredJwtException.class, e -> new JwtAuthenticationException("expired", "Expired JWT", e))
+                .onErrorMap(SecurityException.class, e -> new JwtAuthenticationException("bad_signature", "Invalid JWT signature", e))
+                .onErrorMap(e -> e instanceof JwtException || e instanceof IllegalArgumentException,
+                        e -> new JwtAuthenticationException("malformed", "Invalid JWT", e))
+                .flatMap(this::authenticate);
+    }
+
+    private Mono<Authentication> authenticate(VerifiedToken verifiedToken) {
+        if(tokenRevocationRegistry.isRevoked(verifiedToken)){
+            return Mono.error(new JwtAuthenticationException("revoked", "Revoked JWT"));
+        }
+        if(!verifiedToken.isAccessToken()){
+            return Mono.error(new JwtAuthenticationException("wrong_token_use", "Not an access token"));
+        }
+        if(verifiedToken.getSubject() == null){
+            return Mono.error(new JwtAuthenticationException("invalid", "Invalid JWT"));
+        }
+        return resolveUser(verifiedToken)
+                .switchIfEmpty(Mono.error(() -> new JwtAuthenticationException("unknown_user", "Unknown user")))
+                .onErrorMap(UsernameNotFoundException.class, e -> new JwtAuthenticationException("unknown_user", "Unknown user", e))
+                .flatMap(userDetails -> jwtService.isTokenValid(verifiedToken, userDetails)
+                        ? Mono.just(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()))
+                        : Mono.error(new JwtAuthenticationException("invalid", "Invalid JWT")));
+    }
+
+    private Mono<UserDetails> resolveUser(VerifiedToken verifiedToken) {
+        if(jwtService.isStatelessPrincipal()){
+            TokenPrincipal principal = TokenPrincipal.from(verifiedToken);
+            if(principal != null){
+                return Mono.just(principal);
+            }
+        }
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return userDetailsService.findByUsername(verifiedToken.getSubject())
+                    .doFinally(signal -> sample.stop(userLookupTimer));
+        });
+    }
+}
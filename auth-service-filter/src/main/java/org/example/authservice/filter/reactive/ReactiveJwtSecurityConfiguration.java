@@ -0,0 +1,37 @@
+package org.example.authservice.filter.reactive;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveJwtSecurityConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(SecurityWebFilterChain.class)
+    public SecurityWebFilterChain jwtSecurityWebFilterChain(ServerHttpSecurity http, ReactiveJwtAuthenticationManager authenticationManager,
+                                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/api/v1/auth/**", "/.well-known/**", "/actuator/health", "/actuator/prometheus")
+                        .permitAll()
+                        .anyExchange()
+                        .authenticated())
+                .addFilterAt(new ReactiveJwtAuthenticationFilter(authenticationManager,
+                        meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
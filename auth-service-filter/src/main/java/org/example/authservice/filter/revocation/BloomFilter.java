@@ -0,0 +1,61 @@
+package org.example.authservice.filter.revocation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    BloomFilter(int expectedInsertions, double falsePositiveProbability) {
+        long optimalBits = (long) Math.ceil(-Math.max(expectedInsertions, 1) * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) Math.max(1, (optimalBits + 63) >>> 6));
+        this.bitCount = (long) bits.length() << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / Math.max(expectedInsertions, 1) * Math.log(2)));
+    }
+
+    void put(String value) {
+        long hash = hash(value);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = Integer.toUnsignedLong(first + i * second) % bitCount;
+            long mask = 1L << index;
+            int word = (int) (index >>> 6);
+            long current;
+            do {
+                current = bits.get(word);
+                if((current & mask) != 0){
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = Integer.toUnsignedLong(first + i * second) % bitCount;
+            if((bits.get((int) (index >>> 6)) & (1L << index)) == 0){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.authservice.filter.revocation;
+
+import org.example.authservice.filter.configuration.TokenRevocationConfiguration;
+import org.example.authservice.filter.model.TokenClaims;
+import org.example.authservice.filter.model.VerifiedToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TokenRevocationRegistry {
+
+    private final TokenRevocationConfiguration configuration;
+    private final Clock clock;
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, Epoch> epochs = new ConcurrentHashMap<>();
+    private volatile BloomFilter denylist;
+
+    @Autowired
+    public TokenRevocationRegistry(TokenRevocationConfiguration configuration) {
+        this(configuration, Clock.systemUTC());
+    }
+
+    TokenRevocationRegistry(TokenRevocationConfiguration configuration, Clock clock) {
+        this.configuration = configuration;
+        this.clock = clock;
+        this.denylist = newDenylist();
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        String userUid = token.getClaim(TokenClaims.USER_UID, String.class);
+        Epoch epoch = userUid == null ? null : epochs.get(userUid);
+        if(epoch != null && token.getEpoch() < epoch.value() && epoch.expiresAt().isAfter(clock.instant())){
+            return true;
+        }
+        String tokenId = token.getId();
+        return tokenId != null && denylist.mightContain(tokenId) && revokedTokens.containsKey(tokenId);
+    }
+
+    public synchronized void revoke(String tokenId, Instant expiresAt) {
+        if(expiresAt.isAfter(clock.instant())){
+            revokedTokens.put(tokenId, expiresAt);
+            denylist.put(tokenId);
+        }
+    }
+
+    public void revokeAll(String userUid, long epoch, Instant expiresAt) {
+        if(expiresAt.isAfter(clock.instant())){
+            epochs.merge(userUid, new Epoch(epoch, expiresAt), (current, next) -> next.value() >= current.value() ? next : current);
+        }
+    }
+
+    public synchronized void purgeExpired() {
+        Instant now = clock.instant();
+        epochs.values().removeIf(epoch -> !epoch.expiresAt().isAfter(now));
+        if(revokedTokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now))){
+            BloomFilter rebuilt = newDenylist();
+            revokedTokens.keySet().forEach(rebuilt::put);
+            denylist = rebuilt;
+        }
+    }
+
+    public int getRevokedTokenCount() {
+        return revokedTokens.size();
+    }
+
+    public int getEpochCount() {
+        return epochs.size();
+    }
+
+    private BloomFilter newDenylist() {
+        return new BloomFilter(configuration.getExpectedInsertions(), configuration.getFalsePositiveProbability());
+    }
+
+    private record Epoch(long value, Instant expiresAt) {
+    }
+}
@@ -1,45 +1,174 @@
 package org.example.authservice.filter.service;
 
-import io.jsonwebtoken.Claims;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.example.authservice.filter.cache.VerifiedTokenCache;
 import org.example.authservice.filter.configuration.JwtGeneratorConfiguration;
+import org.example.authservice.filter.key.JsonWebKeys;
+import org.example.authservice.filter.key.JwtKeyRing;
+import org.example.authservice.filter.key.SigningKey;
+import org.example.authservice.filter.key.SigningKeys;
+import org.example.authservice.filter.model.VerifiedToken;
 import org.example.authservice.filter.utils.JwtGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Slf4j
 @Service
 public class JwtService {
 
+    private final JwtKeyRing keyRing;
     private final JwtGenerator jwtGenerator;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final boolean statelessPrincipal;
+    private final Timer accessTokenSignTimer;
+    private final Timer refreshTokenSignTimer;
+    private final Timer verifyTimer;
 
 
     public JwtService(JwtGeneratorConfiguration jwtGeneratorConfiguration) {
+        this(jwtGeneratorConfiguration, null, Metrics.globalRegistry);
+    }
+
+    @Autowired
+    public JwtService(JwtGeneratorConfiguration jwtGeneratorConfiguration, ObjectProvider<SigningKeyResolver> verificationKeyResolver,
+                      ObjectProvider<MeterRegistry> meterRegistry) {
+        this(jwtGeneratorConfiguration, verificationKeyResolver.getIfAvailable(), meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    private JwtService(JwtGeneratorConfiguration jwtGeneratorConfiguration, SigningKeyResolver verificationKeyResolver,
+                       MeterRegistry meterRegistry) {
+        this.keyRing = createKeyRing(jwtGeneratorConfiguration, verificationKeyResolver != null);
         this.jwtGenerator = new JwtGenerator(jwtGeneratorConfiguration.getJwtExpiration(),
-                jwtGeneratorConfiguration.getRefreshExpiration(), jwtGeneratorConfiguration.getSecretKey());
+                jwtGeneratorConfiguration.getRefreshExpiration(), keyRing,
+                verificationKeyResolver == null ? keyRing : verificationKeyResolver);
+        this.verifiedTokenCache = jwtGeneratorConfiguration.isTokenCacheEnabled()
+                ? new VerifiedTokenCache(jwtGeneratorConfiguration.getTokenCacheMaximumSize())
+                : null;
+        if(verifiedTokenCache != null){
+            verifiedTokenCache.bindTo(meterRegistry);
+        }
+        this.statelessPrincipal = jwtGeneratorConfiguration.isStatelessPrincipal();
+        this.accessTokenSignTimer = signTimer("access", meterRegistry);
+        this.refreshTokenSignTimer = signTimer("refresh", meterRegistry);
+        this.verifyTimer = Timer.builder("auth.jwt.verify")
+                .description("Time spent parsing and verifying JWT signatures")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     public String generateToken(UserDetails userDetails) {
-        return this.jwtGenerator.generateToken(userDetails);
+        return accessTokenSignTimer.record(() -> signer().generateToken(userDetails));
+    }
+
+    public String generateToken(UserDetails userDetails, Map<String, Object> claims) {
+        return accessTokenSignTimer.record(() -> signer().generateToken(claims, userDetails));
     }
 
     public String generateRefreshToken(UserDetails userDetails) {
-        return this.jwtGenerator.generateRefreshToken(userDetails);
+        return refreshTokenSignTimer.record(() -> signer().generateRefreshToken(userDetails));
+    }
+
+    public String generateRefreshToken(UserDetails userDetails, Map<String, Object> claims) {
+        return refreshTokenSignTimer.record(() -> signer().generateRefreshToken(claims, userDetails));
+    }
+
+    public VerifiedToken verify(String token) {
+        if(verifiedTokenCache == null){
+            return verifySignature(token);
+        }
+        return verifiedTokenCache.get(token, this::verifySignature);
+    }
+
+    public boolean isStatelessPrincipal() {
+        return statelessPrincipal;
+    }
+
+    public CacheStats getTokenCacheStats() {
+        return verifiedTokenCache == null ? CacheStats.empty() : verifiedTokenCache.stats();
     }
 
     public String extractEmail(String token){
-        return this.jwtGenerator.extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = jwtGenerator.extractClaim(token, Claims::getSubject);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
+    }
+
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.getSubject().equals(userDetails.getUsername()) && !token.isExpired();
+    }
+
+    public List<Map<String, Object>> getJsonWebKeys() {
+        if(keyRing == null){
+            return List.of();
+        }
+        return keyRing.getVerificationKeys().stream()
+                .map(JsonWebKeys::toJwk)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private JwtGenerator signer() {
+        if(keyRing == null){
+            throw new IllegalStateException("No signing key configured, this JwtService only verifies tokens");
+        }
+        return jwtGenerator;
+    }
+
+    private VerifiedToken verifySignature(String token) {
+        return verifyTimer.record(() -> this.jwtGenerator.verify(token));
+    }
+
+    private static Timer signTimer(String type, MeterRegistry meterRegistry) {
+        return Timer.builder("auth.jwt.sign")
+                .description("Time spent building and signing JWTs")
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static JwtKeyRing createKeyRing(JwtGeneratorConfiguration configuration, boolean externalVerificationKeys) {
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(configuration.getSigningAlgorithm());
+        SigningKey current;
+        if(algorithm.isHmac() && !isBlank(configuration.getSecretKey())){
+            current = SigningKeys.hmac(configuration.getSecretKey());
+        } else if(!algorithm.isHmac() && !isBlank(configuration.getSigningPrivateKey())){
+            current = SigningKeys.decode(configuration.getSigningKeyId(), algorithm,
+                    configuration.getSigningPrivateKey(), configuration.getSigningPublicKey());
+        } else if(externalVerificationKeys){
+            log.info("No {} signing key configured, verifying tokens with the provided key resolver only", algorithm.getValue());
+            return null;
+        } else if(configuration.isAllowEphemeralKey()){
+            log.warn("No {} signing key configured, generating an ephemeral one", algorithm.getValue());
+            current = SigningKeys.generate(algorithm);
+        } else {
+            throw new IllegalStateException("No " + algorithm.getValue() + " signing key configured, set "
+                    + (algorithm.isHmac() ? "application.security.jwt.secret-key" : "application.security.jwt.signing.private-key")
+                    + " or enable application.security.jwt.signing.allow-ephemeral-key for development");
+        }
+        JwtKeyRing keyRing = new JwtKeyRing(current);
+        for (String previousKey : configuration.getPreviousPublicKeys()) {
+            int separator = previousKey.indexOf(':');
+            keyRing.addVerificationKey(SigningKeys.decodePublic(previousKey.substring(0, separator).trim(),
+                    previousKey.substring(separator + 1).trim()));
+        }
+        return keyRing;
     }
 
-    private boolean isTokenExpired(String token) {
-        Date expirationDate = jwtGenerator.extractClaim(token, Claims::getExpiration);
-        return expirationDate.before(new Date());
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
     }
 }
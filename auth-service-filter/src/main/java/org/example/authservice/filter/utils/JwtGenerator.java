@@ -1,44 +1,77 @@
 package org.example.authservice.filter.utils;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolver;
+import org.example.authservice.filter.key.JwtKeyRing;
+import org.example.authservice.filter.key.SigningKey;
+import org.example.authservice.filter.key.SigningKeys;
+import org.example.authservice.filter.model.TokenClaims;
+import org.example.authservice.filter.model.VerifiedToken;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import java.security.Key;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 public class JwtGenerator {
 
     private final long jwtExpiration;
     private final long refreshExpiration;
-    private final String secretKey;
+    private final JwtKeyRing keyRing;
+    private final JwtParser jwtParser;
 
     public JwtGenerator(long jwtExpiration, long refreshExpiration, String secretKey){
+        this(jwtExpiration, refreshExpiration, new JwtKeyRing(SigningKeys.hmac(secretKey)));
+    }
+
+    public JwtGenerator(long jwtExpiration, long refreshExpiration, JwtKeyRing keyRing){
+        this(jwtExpiration, refreshExpiration, keyRing, keyRing);
+    }
+
+    public JwtGenerator(long jwtExpiration, long refreshExpiration, JwtKeyRing keyRing, SigningKeyResolver verificationKeyResolver){
         this.jwtExpiration = jwtExpiration;
         this.refreshExpiration = refreshExpiration;
-        this.secretKey = secretKey;
+        this.keyRing = keyRing;
+        this.jwtParser = Jwts
+                .parserBuilder()
+                .setSigningKeyResolver(verificationKeyResolver)
+                .build();
     }
 
     public String generateToken(UserDetails userDetails){
-        return generateToken(Map.of(), userDetails, jwtExpiration);
+        return generateToken(Map.of(), userDetails, jwtExpiration, TokenClaims.ACCESS_TOKEN);
     }
 
-    private String generateToken(Map<String, Object> extractClaims, UserDetails userDetails, long jwtExpiration){
-        return Jwts
+    public String generateToken(Map<String, Object> extractClaims, UserDetails userDetails){
+        return generateToken(extractClaims, userDetails, jwtExpiration, TokenClaims.ACCESS_TOKEN);
+    }
+
+    private String generateToken(Map<String, Object> extractClaims, UserDetails userDetails, long jwtExpiration, String tokenUse){
+        SigningKey signingKey = keyRing.getCurrent();
+        JwtBuilder builder = Jwts
                 .builder()
                 .setClaims(extractClaims)
+                .claim(TokenClaims.TOKEN_USE, tokenUse)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration));
+        if(signingKey.getKeyId() != null){
+            builder.setHeaderParam(JwsHeader.KEY_ID, signingKey.getKeyId());
+        }
+        return builder
+                .signWith(signingKey.getSigningKey(), signingKey.getAlgorithm())
                 .compact();
     }
 
+    public VerifiedToken verify(String token) {
+        return VerifiedToken.from(extractAllClaims(token));
+    }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
@@ -46,22 +79,16 @@ public class JwtGenerator {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
     public String generateRefreshToken(UserDetails userDetails){
-        return generateToken(Map.of(), userDetails, refreshExpiration);
+        return generateToken(Map.of(), userDetails, refreshExpiration, TokenClaims.REFRESH_TOKEN);
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public String generateRefreshToken(Map<String, Object> extractClaims, UserDetails userDetails){
+        return generateToken(extractClaims, userDetails, refreshExpiration, TokenClaims.REFRESH_TOKEN);
     }
-
-
 }
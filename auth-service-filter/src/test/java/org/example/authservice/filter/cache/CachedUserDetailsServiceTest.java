@@ -0,0 +1,169 @@
+package org.example.authservice.filter.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.example.authservice.filter.configuration.UserDetailsCacheConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CachedUserDetailsServiceTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicBoolean storeAvailable = new AtomicBoolean(true);
+    private final Queue<Runnable> pendingRefreshes = new ConcurrentLinkedQueue<>();
+    private final CountDownLatch slowLookupStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseSlowLookup = new CountDownLatch(1);
+    private CachedUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void beforeEach(){
+        UserDetailsService delegate = username -> {
+            lookups.incrementAndGet();
+            if(!storeAvailable.get()){
+                throw new IllegalStateException("Store is down");
+            }
+            if(username.startsWith("slow")){
+                slowLookupStarted.countDown();
+                awaitUninterruptibly(releaseSlowLookup);
+            }
+            if(username.startsWith("unknown")){
+                throw new UsernameNotFoundException("User not found");
+            }
+            return User.builder()
+                    .username(username)
+                    .password("password-" + lookups.get())
+                    .build();
+        };
+        UserDetailsCacheConfiguration configuration = new UserDetailsCacheConfiguration(100,
+                Duration.ofMinutes(5).toMillis(), Duration.ofMinutes(1).toMillis());
+        userDetailsService = new CachedUserDetailsService(delegate, configuration, ticker, pendingRefreshes::add);
+    }
+
+    @Test
+    void repeatedLookupShouldBeServedFromCache(){
+        // when
+        UserDetails first = userDetailsService.loadUserByUsername("email");
+        UserDetails second = userDetailsService.loadUserByUsername("email");
+
+        // then
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void shouldRefreshAheadWhileServingCachedValue(){
+        // given
+        UserDetails first = userDetailsService.loadUserByUsername("email");
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        // when
+        UserDetails stale = userDetailsService.loadUserByUsername("email");
+        runPendingRefreshes();
+        UserDetails refreshed = userDetailsService.loadUserByUsername("email");
+
+        // then
+        Assertions.assertSame(first, stale);
+        Assertions.assertNotEquals(first.getPassword(), refreshed.getPassword());
+        Assertions.assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void shouldServeStaleValueWhenStoreIsDown(){
+        // given
+        UserDetails first = userDetailsService.loadUserByUsername("email");
+        storeAvailable.set(false);
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        // when
+        userDetailsService.loadUserByUsername("email");
+        runPendingRefreshes();
+        UserDetails stale = userDetailsService.loadUserByUsername("email");
+
+        // then
+        Assertions.assertSame(first, stale);
+    }
+
+    @Test
+    void shouldExpireAfterTtl(){
+        // given
+        userDetailsService.loadUserByUsername("email");
+        storeAvailable.set(false);
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+
+        // when and then
+        Assertions.assertThrows(IllegalStateException.class, () -> userDetailsService.loadUserByUsername("email"));
+    }
+
+    @Test
+    void invalidatedUserShouldBeLoadedAgain(){
+        // given
+        userDetailsService.loadUserByUsername("email");
+
+        // when
+        userDetailsService.invalidate("email");
+        userDetailsService.loadUserByUsername("email");
+
+        // then
+        Assertions.assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void unknownUserShouldNotBeCached(){
+        // when
+        Assertions.assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("unknown"));
+        Assertions.assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("unknown"));
+
+        // then
+        Assertions.assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void concurrentMissesShouldShareOneLookupOnCallerThread() throws Exception {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<UserDetails> first = executor.submit(() -> userDetailsService.loadUserByUsername("slow-email"));
+        slowLookupStarted.await();
+        Future<UserDetails> second = executor.submit(() -> userDetailsService.loadUserByUsername("slow-email"));
+
+        // when
+        releaseSlowLookup.countDown();
+
+        // then
+        Assertions.assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, lookups.get());
+        executor.shutdown();
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch){
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runPendingRefreshes(){
+        Runnable refresh;
+        while((refresh = pendingRefreshes.poll()) != null){
+            refresh.run();
+        }
+    }
+}
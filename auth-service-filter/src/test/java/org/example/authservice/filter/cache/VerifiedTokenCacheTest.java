@@ -0,0 +1,117 @@
+package org.example.authservice.filter.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.authservice.filter.model.VerifiedToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+public class VerifiedTokenCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void repeatedTokenShouldBeVerifiedOnce(){
+        // given
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, ticker, clock);
+        AtomicInteger verifications = new AtomicInteger();
+        Function<String, VerifiedToken> verifier = countingVerifier(verifications, Duration.ofMinutes(5));
+
+        // when
+        VerifiedToken first = cache.get("token", verifier);
+        VerifiedToken second = cache.get("token", verifier);
+
+        // then
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, verifications.get());
+        Assertions.assertEquals(1, cache.stats().hitCount());
+        Assertions.assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void entryShouldNotOutliveTokenExpiration(){
+        // given
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, ticker, clock);
+        AtomicInteger verifications = new AtomicInteger();
+        Function<String, VerifiedToken> verifier = countingVerifier(verifications, Duration.ofSeconds(30));
+        cache.get("token", verifier);
+
+        // when
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+        cache.get("token", verifier);
+
+        // then
+        Assertions.assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void expiryShouldFollowCacheTickerRatherThanWallClock(){
+        // given
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, ticker, clock);
+        AtomicInteger verifications = new AtomicInteger();
+        nanos.addAndGet(Duration.ofMinutes(10).toNanos());
+        Function<String, VerifiedToken> verifier = countingVerifier(verifications, Duration.ofSeconds(30));
+        cache.get("token", verifier);
+
+        // when
+        nanos.addAndGet(Duration.ofSeconds(20).toNanos());
+        cache.get("token", verifier);
+        nanos.addAndGet(Duration.ofSeconds(20).toNanos());
+        cache.get("token", verifier);
+
+        // then
+        Assertions.assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void statsShouldBeExportedAsCacheMetrics(){
+        // given
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, ticker, clock);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cache.bindTo(meterRegistry);
+        Function<String, VerifiedToken> verifier = countingVerifier(new AtomicInteger(), Duration.ofMinutes(5));
+
+        // when
+        cache.get("token", verifier);
+        cache.get("token", verifier);
+
+        // then
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "verified-tokens").tag("result", "hit").functionCounter().count());
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "verified-tokens").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void differentTokensShouldNotShareEntries(){
+        // given
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, ticker, clock);
+        AtomicInteger verifications = new AtomicInteger();
+        Function<String, VerifiedToken> verifier = countingVerifier(verifications, Duration.ofMinutes(5));
+
+        // when
+        cache.get("first-token", verifier);
+        cache.get("second-token", verifier);
+
+        // then
+        Assertions.assertEquals(2, verifications.get());
+        Assertions.assertEquals(0, cache.stats().hitCount());
+    }
+
+    private Function<String, VerifiedToken> countingVerifier(AtomicInteger verifications, Duration validity){
+        return token -> {
+            verifications.incrementAndGet();
+            Instant now = clock.instant().plusNanos(nanos.get());
+            return new VerifiedToken(null, token, now, now.plus(validity), Map.of("sub", token));
+        };
+    }
+}
@@ -0,0 +1,183 @@
+package org.example.authservice.filter.reactive;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.authservice.domain.entity.User;
+import org.example.authservice.filter.configuration.JwtGeneratorConfiguration;
+import org.example.authservice.filter.configuration.TokenRevocationConfiguration;
+import org.example.authservice.filter.model.VerifiedToken;
+import org.example.authservice.filter.revocation.TokenRevocationRegistry;
+import org.example.authservice.filter.service.JwtService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ReactiveJwtAuthenticationFilterTest {
+
+    private final JwtService jwtService = new JwtService(new JwtGeneratorConfiguration(86400000L,
+            86400000L, "2ADDFD5C436226A765CHSADFDAS33212332138A3BE26A"));
+    private final TokenRevocationRegistry revocationRegistry = new TokenRevocationRegistry(new TokenRevocationConfiguration(1000, 0.01));
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, UserDetails> users = Map.of("dummy-email", User.builder()
+            .email("dummy-email")
+            .password("password")
+            .build());
+    private final ReactiveUserDetailsService userDetailsService = username -> Mono.justOrEmpty(users.get(username))
+            .subscribeOn(Schedulers.boundedElastic());
+    private final ReactiveJwtAuthenticationFilter filter = new ReactiveJwtAuthenticationFilter(
+            new ReactiveJwtAuthenticationManager(jwtService, userDetailsService, revocationRegistry, provider(meterRegistry)),
+            meterRegistry);
+
+    @Test
+    void shouldAuthenticateRequestThroughReactorContext(){
+        // given
+        String token = jwtService.generateToken(users.get("dummy-email"));
+        MockServerWebExchange exchange = exchange("/api/v1/orders", token);
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+        WebFilterChain chain = ignored -> ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .doOnNext(authentication::set)
+                .then();
+
+        // when
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // then
+        Assertions.assertNotNull(authentication.get());
+        Assertions.assertEquals("dummy-email", ((UserDetails) authentication.get().getPrincipal()).getUsername());
+        Assertions.assertNull(exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void shouldVerifyTokenOffTheCallingThread(){
+        // given
+        AtomicReference<String> verifyingThread = new AtomicReference<>();
+        JwtService recordingJwtService = new JwtService(new JwtGeneratorConfiguration(86400000L,
+                86400000L, "2ADDFD5C436226A765CHSADFDAS33212332138A3BE26A")) {
+            @Override
+            public VerifiedToken verify(String token) {
+                verifyingThread.set(Thread.currentThread().getName());
+                return super.verify(token);
+            }
+        };
+        ReactiveJwtAuthenticationManager authenticationManager = new ReactiveJwtAuthenticationManager(recordingJwtService,
+                userDetailsService, revocationRegistry, provider(meterRegistry));
+        String token = jwtService.generateToken(users.get("dummy-email"));
+
+        // when
+        StepVerifier.create(authenticationManager.authenticate(new BearerTokenAuthentication(token)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // then
+        Assertions.assertTrue(verifyingThread.get().startsWith("boundedElastic"), verifyingThread.get());
+    }
+
+    @Test
+    void shouldRejectRequestWithoutBearerToken(){
+        // given
+        MockServerWebExchange exchange = exchange("/api/v1/orders", null);
+
+        // when
+        StepVerifier.create(filter.filter(exchange, failingChain())).verifyComplete();
+
+        // then
+        Assertions.assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        Assertions.assertEquals(1.0, meterRegistry.counter("auth.filter.rejected", "reason", "missing_header").count());
+    }
+
+    @Test
+    void shouldRejectRevokedToken(){
+        // given
+        String token = jwtService.generateToken(users.get("dummy-email"));
+        revocationRegistry.revoke(jwtService.verify(token).getId(), Instant.now().plusSeconds(60));
+        MockServerWebExchange exchange = exchange("/api/v1/orders", token);
+
+        // when
+        StepVerifier.create(filter.filter(exchange, failingChain())).verifyComplete();
+
+        // then
+        Assertions.assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        Assertions.assertEquals(1.0, meterRegistry.counter("auth.filter.rejected", "reason", "revoked").count());
+    }
+
+    @Test
+    void shouldRejectRefreshToken(){
+        // given
+        String token = jwtService.generateRefreshToken(users.get("dummy-email"));
+        MockServerWebExchange exchange = exchange("/api/v1/orders", token);
+
+        // when
+        StepVerifier.create(filter.filter(exchange, failingChain())).verifyComplete();
+
+        // then
+        Assertions.assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        Assertions.assertEquals(1.0, meterRegistry.counter("auth.filter.rejected", "reason", "wrong_token_use").count());
+    }
+
+    @Test
+    void shouldRejectTokenOfUnknownUser(){
+        // given
+        String token = jwtService.generateToken(User.builder()
+                .email("unknown-email")
+                .password("password")
+                .build());
+        MockServerWebExchange exchange = exchange("/api/v1/orders", token);
+
+        // when
+        StepVerifier.create(filter.filter(exchange, failingChain())).verifyComplete();
+
+        // then
+        Assertions.assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        Assertions.assertEquals(1.0, meterRegistry.counter("auth.filter.rejected", "reason", "unknown_user").count());
+    }
+
+    @Test
+    void shouldPassPublicPathsWithoutToken(){
+        // given
+        MockServerWebExchange exchange = exchange("/api/v1/auth/authenticate", null);
+        AtomicReference<Boolean> chainCalled = new AtomicReference<>(false);
+
+        // when
+        StepVerifier.create(filter.filter(exchange, ignored -> Mono.fromRunnable(() -> chainCalled.set(true))))
+                .verifyComplete();
+
+        // then
+        Assertions.assertTrue(chainCalled.get());
+        Assertions.assertNull(exchange.getResponse().getStatusCode());
+    }
+
+    private static MockServerWebExchange exchange(String path, String token) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(path);
+        if(token != null){
+            request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    private static WebFilterChain failingChain() {
+        return ignored -> Mono.error(new AssertionError("Chain should not be called"));
+    }
+
+    private static ObjectProvider<MeterRegistry> provider(MeterRegistry meterRegistry) {
+        return new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class);
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.authservice.filter.reactive;
+
+import org.example.authservice.domain.entity.User;
+import org.example.authservice.filter.configuration.JwtGeneratorConfiguration;
+import org.example.authservice.filter.configuration.TokenRevocationConfiguration;
+import org.example.authservice.filter.revocation.TokenRevocationRegistry;
+import org.example.authservice.filter.service.JwtService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.web.reactive.context.AnnotationConfigReactiveWebApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReactiveJwtSecurityConfigurationTest {
+
+    private static final User USER = User.builder()
+            .email("dummy-email")
+            .password("password")
+            .build();
+
+    private AnnotationConfigReactiveWebApplicationContext context;
+    private WebTestClient client;
+
+    @BeforeAll
+    void beforeAll(){
+        context = new AnnotationConfigReactiveWebApplicationContext();
+        context.register(TestApplication.class);
+        context.refresh();
+        client = WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    @AfterAll
+    void afterAll(){
+        context.close();
+    }
+
+    @Test
+    void securityChainShouldAuthenticateBearerToken(){
+        // given
+        String token = context.getBean(JwtService.class).generateToken(USER);
+
+        // when and then
+        client.get().uri("/api/v1/orders")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("dummy-email");
+    }
+
+    @Test
+    void securityChainShouldRejectMissingToken(){
+        // when and then
+        client.get().uri("/api/v1/orders")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Configuration
+    @EnableWebFlux
+    @Import({ReactiveJwtSecurityConfiguration.class, ReactiveJwtAuthenticationManager.class})
+    static class TestApplication {
+
+        @Bean
+        JwtService jwtService() {
+            return new JwtService(new JwtGeneratorConfiguration(86400000L,
+                    86400000L, "2ADDFD5C436226A765CHSADFDAS33212332138A3BE26A"));
+        }
+
+        @Bean
+        TokenRevocationRegistry tokenRevocationRegistry() {
+            return new TokenRevocationRegistry(new TokenRevocationConfiguration(1000, 0.01));
+        }
+
+        @Bean
+        ReactiveUserDetailsService userDetailsService() {
+            return username -> Mono.justOrEmpty(USER.getUsername().equals(username) ? USER : null);
+        }
+
+        @Bean
+        RouterFunction<ServerResponse> orders() {
+            return RouterFunctions.route()
+                    .GET("/api/v1/orders", request -> request.principal()
+                            .flatMap(principal -> ServerResponse.ok().bodyValue(principal.getName())))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.authservice.filter.revocation;
+
+import org.example.authservice.filter.configuration.TokenRevocationConfiguration;
+import org.example.authservice.filter.model.TokenClaims;
+import org.example.authservice.filter.model.VerifiedToken;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+public class TokenRevocationRegistryTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    private final TokenRevocationRegistry registry = new TokenRevocationRegistry(new TokenRevocationConfiguration(1000, 0.01), clock);
+
+    @Test
+    void shouldRevokeSingleToken(){
+        // given
+        VerifiedToken revoked = token("jti-1", "dummy-uid", 0);
+        VerifiedToken other = token("jti-2", "dummy-uid", 0);
+
+        // when
+        registry.revoke("jti-1", clock.instant().plus(Duration.ofMinutes(5)));
+
+        // then
+        Assertions.assertTrue(registry.isRevoked(revoked));
+        Assertions.assertFalse(registry.isRevoked(other));
+    }
+
+    @Test
+    void shouldRevokeTokensIssuedBeforeEpochBump(){
+        // given
+        VerifiedToken oldToken = token("jti-1", "dummy-uid", 0);
+        VerifiedToken newToken = token("jti-2", "dummy-uid", 1);
+        VerifiedToken otherUser = token("jti-3", "other-uid", 0);
+
+        // when
+        registry.revokeAll("dummy-uid", 1, clock.instant().plus(Duration.ofMinutes(5)));
+
+        // then
+        Assertions.assertTrue(registry.isRevoked(oldToken));
+        Assertions.assertFalse(registry.isRevoked(newToken));
+        Assertions.assertFalse(registry.isRevoked(otherUser));
+    }
+
+    @Test
+    void shouldKeepHighestEpoch(){
+        // given
+        Instant expiresAt = clock.instant().plus(Duration.ofMinutes(5));
+        registry.revokeAll("dummy-uid", 2, expiresAt);
+
+        // when
+        registry.revokeAll("dummy-uid", 1, expiresAt);
+
+        // then
+        Assertions.assertTrue(registry.isRevoked(token("jti-1", "dummy-uid", 1)));
+    }
+
+    @Test
+    void shouldForgetEntriesOnceTokensWouldHaveExpired(){
+        // given
+        registry.revoke("jti-1", clock.instant().plus(Duration.ofMinutes(5)));
+        registry.revoke("jti-2", clock.instant().plus(Duration.ofMinutes(15)));
+        registry.revokeAll("dummy-uid", 1, clock.instant().plus(Duration.ofMinutes(5)));
+
+        // when
+        clock.advance(Duration.ofMinutes(10));
+        registry.purgeExpired();
+
+        // then
+        Assertions.assertEquals(1, registry.getRevokedTokenCount());
+        Assertions.assertEquals(0, registry.getEpochCount());
+        Assertions.assertFalse(registry.isRevoked(token("jti-1", "dummy-uid", 0)));
+        Assertions.assertTrue(registry.isRevoked(token("jti-2", "dummy-uid", 1)));
+    }
+
+    @Test
+    void shouldIgnoreAlreadyExpiredRevocations(){
+        // when
+        registry.revoke("jti-1", clock.instant().minusSeconds(1));
+
+        // then
+        Assertions.assertEquals(0, registry.getRevokedTokenCount());
+    }
+
+    @Test
+    void bloomFilterShouldHaveNoFalseNegatives(){
+        // given
+        BloomFilter bloomFilter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            bloomFilter.put("jti-" + i);
+        }
+
+        // when
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            Assertions.assertTrue(bloomFilter.mightContain("jti-" + i));
+            if(bloomFilter.mightContain("other-" + i)){
+                falsePositives++;
+            }
+        }
+
+        // then
+        Assertions.assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    private VerifiedToken token(String id, String userUid, long epoch){
+        Instant now = clock.instant();
+        return new VerifiedToken(id, "dummy-email", now, now.plus(Duration.ofMinutes(30)),
+                Map.of(TokenClaims.USER_UID, userUid, TokenClaims.EPOCH, epoch));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
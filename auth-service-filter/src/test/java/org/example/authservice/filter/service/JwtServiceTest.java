@@ -1,7 +1,19 @@
 package org.example.authservice.filter.service;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolver;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.example.authservice.domain.entity.User;
 import org.example.authservice.filter.configuration.JwtGeneratorConfiguration;
+import org.example.authservice.filter.key.JwtKeyRing;
+import org.example.authservice.filter.key.SigningKey;
+import org.example.authservice.filter.key.SigningKeys;
+import org.example.authservice.filter.model.VerifiedToken;
 import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class JwtServiceTest {
@@ -65,4 +77,139 @@ public class JwtServiceTest {
         // then
         Assertions.assertFalse(jwtService.isTokenValid(token, invalidUser));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldVerifyTokenOnceAndExposeClaims(){
+        // given
+        User user = User.builder()
+                .email("dummy-email")
+                .password("password")
+                .build();
+        String token = jwtService.generateToken(user);
+
+        // when
+        VerifiedToken verifiedToken = jwtService.verify(token);
+
+        // then
+        Assertions.assertEquals("dummy-email", verifiedToken.getSubject());
+        Assertions.assertFalse(verifiedToken.isExpired());
+        Assertions.assertEquals("dummy-email", verifiedToken.getClaims().get("sub"));
+        Assertions.assertTrue(jwtService.isTokenValid(verifiedToken, user));
+    }
+
+    @Test
+    void verifiedTokenClaimsShouldBeImmutable(){
+        // given
+        User user = User.builder()
+                .email("dummy-email")
+                .password("password")
+                .build();
+        VerifiedToken verifiedToken = jwtService.verify(jwtService.generateToken(user));
+
+        // when and then
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> verifiedToken.getClaims().put("sub", "other"));
+    }
+
+    @Test
+    void shouldSignWithRsaKeyAndPublishItAsJwk(){
+        // given
+        JwtGeneratorConfiguration configuration = new JwtGeneratorConfiguration(86400000L, 86400000L, null);
+        configuration.setSigningAlgorithm("RS256");
+        configuration.setAllowEphemeralKey(true);
+        JwtService rsaJwtService = new JwtService(configuration);
+        User user = User.builder()
+                .email("dummy-email")
+                .password("password")
+                .build();
+
+        // when
+        String token = rsaJwtService.generateToken(user);
+        List<Map<String, Object>> jwks = rsaJwtService.getJsonWebKeys();
+
+        // then
+        Assertions.assertEquals("dummy-email", rsaJwtService.verify(token).getSubject());
+        Assertions.assertEquals(1, jwks.size());
+        Assertions.assertEquals("RSA", jwks.get(0).get("kty"));
+        Assertions.assertEquals("RS256", jwks.get(0).get("alg"));
+        Assertions.assertNotNull(jwks.get(0).get("kid"));
+    }
+
+    @Test
+    void tokenSignedWithPreviousKeyShouldStayValidAfterRotation(){
+        // given
+        Base64.Encoder encoder = Base64.getEncoder();
+        SigningKey previousKey = SigningKeys.generate(SignatureAlgorithm.ES256);
+        SigningKey nextKey = SigningKeys.generate(SignatureAlgorithm.ES256);
+        JwtService previousJwtService = new JwtService(ecConfiguration(previousKey, List.of()));
+        JwtService rotatedJwtService = new JwtService(ecConfiguration(nextKey, List.of(previousKey.getKeyId() + ":"
+                + encoder.encodeToString(previousKey.getVerificationKey().getEncoded()))));
+        User user = User.builder()
+                .email("dummy-email")
+                .password("password")
+                .build();
+        String tokenBeforeRotation = previousJwtService.generateToken(user);
+
+        // when
+        String tokenAfterRotation = rotatedJwtService.generateToken(user);
+
+        // then
+        Assertions.assertTrue(rotatedJwtService.isTokenValid(tokenBeforeRotation, user));
+        Assertions.assertTrue(rotatedJwtService.isTokenValid(tokenAfterRotation, user));
+        Assertions.assertEquals(2, rotatedJwtService.getJsonWebKeys().size());
+    }
+
+    @Test
+    void missingSigningKeyShouldFailFast(){
+        // given
+        JwtGeneratorConfiguration configuration = new JwtGeneratorConfiguration(86400000L, 86400000L, null);
+        configuration.setSigningAlgorithm("ES256");
+
+        // when and then
+        Assertions.assertThrows(IllegalStateException.class, () -> new JwtService(configuration));
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> new JwtService(new JwtGeneratorConfiguration(86400000L, 86400000L, "")));
+    }
+
+    @Test
+    void resolverWithoutSigningKeyShouldOnlyVerify(){
+        // given
+        SigningKey issuerKey = SigningKeys.generate(SignatureAlgorithm.ES256);
+        JwtService issuer = new JwtService(ecConfiguration(issuerKey, List.of()));
+        JwtGeneratorConfiguration configuration = new JwtGeneratorConfiguration(86400000L, 86400000L, null);
+        configuration.setSigningAlgorithm("ES256");
+        SigningKeyResolver resolver = new JwtKeyRing(issuerKey.verificationOnly());
+        JwtService verifier = new JwtService(configuration,
+                new StaticListableBeanFactory(Map.of("resolver", resolver)).getBeanProvider(SigningKeyResolver.class),
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        User user = User.builder()
+                .email("dummy-email")
+                .password("password")
+                .build();
+
+        // when
+        String token = issuer.generateToken(user);
+
+        // then
+        Assertions.assertEquals("dummy-email", verifier.verify(token).getSubject());
+        Assertions.assertTrue(verifier.getJsonWebKeys().isEmpty());
+        Assertions.assertThrows(IllegalStateException.class, () -> verifier.generateToken(user));
+        Assertions.assertThrows(IllegalStateException.class, () -> verifier.generateRefreshToken(user));
+    }
+
+    @Test
+    void hmacSecretShouldNotBePublished(){
+        // when and then
+        Assertions.assertTrue(jwtService.getJsonWebKeys().isEmpty());
+    }
+
+    private static JwtGeneratorConfiguration ecConfiguration(SigningKey signingKey, List<String> previousPublicKeys){
+        Base64.Encoder encoder = Base64.getEncoder();
+        JwtGeneratorConfiguration configuration = new JwtGeneratorConfiguration(86400000L, 86400000L, null);
+        configuration.setSigningAlgorithm("ES256");
+        configuration.setSigningKeyId(signingKey.getKeyId());
+        configuration.setSigningPrivateKey(encoder.encodeToString(signingKey.getSigningKey().getEncoded()));
+        configuration.setSigningPublicKey(encoder.encodeToString(signingKey.getVerificationKey().getEncoded()));
+        configuration.setPreviousPublicKeys(previousPublicKeys);
+        return configuration;
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.authservice.filter.utils;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -70,4 +71,18 @@ public class JwtGeneratorTest {
         Assertions.assertEquals(claimSubject, username);
         Assertions.assertTrue(expiration.after(new Date(System.currentTimeMillis())));
     }
+
+    @Test
+    void shouldRejectTamperedToken(){
+        // given
+        UserDetails userDetails = User.builder()
+                .username("dummy-username")
+                .password("password")
+                .build();
+        String token = jwtGenerator.generateToken(userDetails);
+        String tamperedToken = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // when and then
+        Assertions.assertThrows(JwtException.class, () -> jwtGenerator.verify(tamperedToken));
+    }
 }
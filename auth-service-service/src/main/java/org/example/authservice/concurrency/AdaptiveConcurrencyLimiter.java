@@ -0,0 +1,144 @@
+package org.example.authservice.concurrency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+    private static final double LONG_RTT_WINDOWS = 50;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile double limit;
+    private volatile long windowStart;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      double smoothing, long windowMillis, MeterRegistry meterRegistry) {
+        this(name, initialLimit, minLimit, maxLimit, tolerance, smoothing, windowMillis, meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, double tolerance,
+                               double smoothing, long windowMillis, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.name = name;
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.nanoClock = nanoClock;
+        this.meterRegistry = meterRegistry;
+        this.windowStart = nanoClock.getAsLong();
+        Gauge.builder("auth.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("auth.concurrency.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests currently holding a concurrency permit")
+                .tag("limiter", name)
+                .register(meterRegistry);
+    }
+
+    public Optional<Permit> tryAcquire(RequestPriority priority) {
+        int allowed = Math.max(1, (int) (limit * priority.getShare()));
+        int current;
+        do {
+            current = inFlight.get();
+            if(current >= allowed){
+                meterRegistry.counter("auth.concurrency.rejected", "limiter", name, "priority", priority.name()).increment();
+                return Optional.empty();
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+        return Optional.of(new Permit(nanoClock.getAsLong()));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void onSample(long rtt) {
+        windowRttSum.add(rtt);
+        windowSamples.increment();
+        long now = nanoClock.getAsLong();
+        if(now - windowStart >= windowNanos && updateLock.tryLock()){
+            try {
+                if(now - windowStart >= windowNanos){
+                    updateLimit(now);
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    private void updateLimit(long now) {
+        long samples = windowSamples.sumThenReset();
+        long rttSum = windowRttSum.sumThenReset();
+        int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+        windowStart = now;
+        if(samples == 0){
+            return;
+        }
+        double shortRtt = (double) rttSum / samples;
+        longRtt = longRtt == 0 ? shortRtt : longRtt + (shortRtt - longRtt) / LONG_RTT_WINDOWS;
+        if(longRtt > shortRtt * 2){
+            longRtt = shortRtt * 2;
+        }
+        if(maxInFlight < limit / 2){
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        double next = limit * (1 - smoothing) + target * smoothing;
+        next = Math.max(minLimit, Math.min(maxLimit, next));
+        if((int) next != (int) limit){
+            log.debug("Concurrency limit of {} changed from {} to {} (short rtt {} us, long rtt {} us)", name,
+                    (int) limit, (int) next, (long) shortRtt / 1000, (long) longRtt / 1000);
+        }
+        limit = next;
+    }
+
+    public class Permit {
+        private final long start;
+        private boolean released;
+
+        private Permit(long start) {
+            this.start = start;
+        }
+
+        public void release() {
+            if(released){
+                return;
+            }
+            released = true;
+            inFlight.decrementAndGet();
+            onSample(nanoClock.getAsLong() - start);
+        }
+    }
+}
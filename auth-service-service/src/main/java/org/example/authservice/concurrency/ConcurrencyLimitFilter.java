@@ -0,0 +1,96 @@
+package org.example.authservice.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.authservice.config.ConcurrencyLimitConfiguration;
+import org.example.authservice.exception.ConcurrencyLimitExceededException;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final String AUTH_PATH = "/api/v1/auth/";
+    private static final Map<String, RequestPriority> PRIORITIES = Map.of(
+            "refresh-token", RequestPriority.CRITICAL,
+            "logout", RequestPriority.CRITICAL,
+            "logout-all", RequestPriority.CRITICAL,
+            "register", RequestPriority.LOW
+    );
+
+    private final ConcurrencyLimitConfiguration configuration;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitConfiguration configuration, MeterRegistry meterRegistry) {
+        this.configuration = configuration;
+        this.limiter = new AdaptiveConcurrencyLimiter("auth-endpoints", configuration.getInitialLimit(),
+                configuration.getMinLimit(), configuration.getMaxLimit(), configuration.getTolerance(),
+                configuration.getSmoothing(), configuration.getWindow(), meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !configuration.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if(!request.getServletPath().startsWith(AUTH_PATH)){
+            doFilterGuarded(request, response, filterChain);
+            return;
+        }
+        RequestPriority priority = priority(request.getServletPath());
+        Optional<AdaptiveConcurrencyLimiter.Permit> permit = limiter.tryAcquire(priority);
+        if(permit.isEmpty()){
+            reject(response, configuration.getRetryAfter(), "Concurrency limit exceeded");
+            return;
+        }
+        RequestPriority.set(priority);
+        try {
+            doFilterGuarded(request, response, filterChain);
+        } finally {
+            RequestPriority.clear();
+            permit.get().release();
+        }
+    }
+
+    private static void doFilterGuarded(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (RuntimeException | ServletException e) {
+            ConcurrencyLimitExceededException exceeded = concurrencyLimitExceeded(e);
+            if(exceeded == null || response.isCommitted()){
+                throw e;
+            }
+            reject(response, exceeded.getRetryAfter(), exceeded.getMessage());
+        }
+    }
+
+    private static ConcurrencyLimitExceededException concurrencyLimitExceeded(Throwable failure) {
+        for(Throwable cause = failure; cause != null; cause = cause.getCause()){
+            if(cause instanceof ConcurrencyLimitExceededException exceeded){
+                return exceeded;
+            }
+        }
+        return null;
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfter, String message) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, message);
+    }
+
+    private static RequestPriority priority(String servletPath) {
+        return PRIORITIES.getOrDefault(servletPath.substring(AUTH_PATH.length()), RequestPriority.NORMAL);
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.authservice.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.example.authservice.config.ConcurrencyLimitConfiguration;
+import org.example.authservice.exception.ConcurrencyLimitExceededException;
+import org.example.authservice.repository.UserRepository;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RepositoryConcurrencyLimiter implements BeanPostProcessor, MethodInterceptor {
+
+    private final ObjectProvider<ConcurrencyLimitConfiguration> configuration;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private volatile AdaptiveConcurrencyLimiter limiter;
+
+    public RepositoryConcurrencyLimiter(ObjectProvider<ConcurrencyLimitConfiguration> configuration,
+                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        this.configuration = configuration;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if(!(bean instanceof UserRepository) || !configuration.getObject().isEnabled()){
+            return bean;
+        }
+        ConcurrencyLimitConfiguration config = configuration.getObject();
+        limiter = new AdaptiveConcurrencyLimiter("user-repository", config.getRepositoryInitialLimit(),
+                config.getRepositoryMinLimit(), config.getRepositoryMaxLimit(), config.getTolerance(),
+                config.getSmoothing(), config.getWindow(), meterRegistry.getObject());
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(bean);
+        proxyFactory.setInterfaces(UserRepository.class);
+        proxyFactory.addAdvice(this);
+        return proxyFactory.getProxy();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if(invocation.getMethod().getDeclaringClass() == Object.class){
+            return invocation.proceed();
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(RequestPriority.current())
+                .orElseThrow(() -> new ConcurrencyLimitExceededException("Database concurrency limit exceeded",
+                        configuration.getObject().getRetryAfter()));
+        try {
+            return invocation.proceed();
+        } finally {
+            permit.release();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.authservice.concurrency;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum RequestPriority {
+    CRITICAL(1.0),
+    NORMAL(0.9),
+    LOW(0.6);
+
+    private final double share;
+
+    private static final ThreadLocal<RequestPriority> CURRENT = ThreadLocal.withInitial(() -> NORMAL);
+
+    public static RequestPriority current() {
+        return CURRENT.get();
+    }
+
+    static void set(RequestPriority priority) {
+        CURRENT.set(priority);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
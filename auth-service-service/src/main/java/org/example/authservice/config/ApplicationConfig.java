@@ -1,6 +1,11 @@
 package org.example.authservice.config;
 
 import lombok.RequiredArgsConstructor;
+import org.example.authservice.filter.cache.CachedUserDetailsService;
+import org.example.authservice.filter.configuration.UserDetailsCacheConfiguration;
+import org.example.authservice.hashing.BCryptStrengthCalibrator;
+import org.example.authservice.hashing.ExecutorPasswordEncoder;
+import org.example.authservice.hashing.PasswordHashingExecutor;
 import org.example.authservice.repository.UserRepository;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,25 +13,31 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+
+import java.util.Map;
 
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
+    private static final String BCRYPT_ID = "bcrypt";
     private final UserRepository repository;
+    private final UserDetailsCacheConfiguration userDetailsCacheConfiguration;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final PasswordHashingConfiguration passwordHashingConfiguration;
+
     @Bean
-    public UserDetailsService userDetailsService() {
-        return username -> repository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    public CachedUserDetailsService userDetailsService() {
+        return new CachedUserDetailsService(this::loadUser, userDetailsCacheConfiguration);
     }
 
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userDetailsService());
+        authProvider.setUserDetailsService(this::loadUser);
         authProvider.setPasswordEncoder(passwordEncoder());
         return authProvider;
     }
@@ -37,8 +48,21 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public ExecutorPasswordEncoder passwordEncoder() {
+        int strength = passwordHashingConfiguration.getStrength() > 0
+                ? passwordHashingConfiguration.getStrength()
+                : BCryptStrengthCalibrator.calibrate(passwordHashingConfiguration.getLatencyBudget(),
+                        passwordHashingConfiguration.getMinStrength(), passwordHashingConfiguration.getMaxStrength());
+        BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder(BCRYPT_ID,
+                Map.of(BCRYPT_ID, bCryptPasswordEncoder));
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(bCryptPasswordEncoder);
+        return new ExecutorPasswordEncoder(delegatingPasswordEncoder, passwordHashingExecutor);
+    }
+
+    private UserDetails loadUser(String username) {
+        return repository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
 }
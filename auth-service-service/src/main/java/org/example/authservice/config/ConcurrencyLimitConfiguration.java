@@ -0,0 +1,37 @@
+package org.example.authservice.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@AllArgsConstructor
+@RequiredArgsConstructor
+@Getter
+public class ConcurrencyLimitConfiguration {
+
+    @Value("${application.concurrency-limit.enabled:true}")
+    private boolean enabled;
+    @Value("${application.concurrency-limit.initial-limit:50}")
+    private int initialLimit;
+    @Value("${application.concurrency-limit.min-limit:8}")
+    private int minLimit;
+    @Value("${application.concurrency-limit.max-limit:500}")
+    private int maxLimit;
+    @Value("${application.concurrency-limit.repository.initial-limit:20}")
+    private int repositoryInitialLimit;
+    @Value("${application.concurrency-limit.repository.min-limit:4}")
+    private int repositoryMinLimit;
+    @Value("${application.concurrency-limit.repository.max-limit:100}")
+    private int repositoryMaxLimit;
+    @Value("${application.concurrency-limit.tolerance:1.5}")
+    private double tolerance;
+    @Value("${application.concurrency-limit.smoothing:0.2}")
+    private double smoothing;
+    @Value("${application.concurrency-limit.window:100}")
+    private long window;
+    @Value("${application.concurrency-limit.retry-after:1}")
+    private long retryAfter;
+}
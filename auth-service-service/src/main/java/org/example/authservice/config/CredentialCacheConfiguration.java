@@ -0,0 +1,21 @@
+package org.example.authservice.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@AllArgsConstructor
+@RequiredArgsConstructor
+@Getter
+public class CredentialCacheConfiguration {
+
+    @Value("${application.security.credential-cache.enabled:false}")
+    private boolean enabled;
+    @Value("${application.security.credential-cache.maximum-size:10000}")
+    private long maximumSize;
+    @Value("${application.security.credential-cache.ttl:5000}")
+    private long ttl;
+}
@@ -0,0 +1,25 @@
+package org.example.authservice.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@AllArgsConstructor
+@RequiredArgsConstructor
+@Getter
+public class FlightRecorderConfiguration {
+
+    @Value("${application.jfr.enabled:true}")
+    private boolean enabled;
+    @Value("${application.jfr.max-age:1800000}")
+    private long maxAge;
+    @Value("${application.jfr.max-size:67108864}")
+    private long maxSize;
+    @Value("${application.jfr.auth-request-threshold:500}")
+    private long authRequestThreshold;
+    @Value("${application.jfr.token-filter-threshold:20}")
+    private long tokenFilterThreshold;
+}
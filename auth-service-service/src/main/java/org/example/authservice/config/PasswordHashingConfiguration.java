@@ -0,0 +1,31 @@
+package org.example.authservice.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@AllArgsConstructor
+@RequiredArgsConstructor
+@Getter
+public class PasswordHashingConfiguration {
+
+    @Value("${application.security.password-hashing.threads:0}")
+    private int threads;
+    @Value("${application.security.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+    @Value("${application.security.password-hashing.timeout:10000}")
+    private long timeout;
+    @Value("${application.security.password-hashing.retry-after:1}")
+    private long retryAfter;
+    @Value("${application.security.password-hashing.strength:0}")
+    private int strength;
+    @Value("${application.security.password-hashing.latency-budget:250}")
+    private long latencyBudget;
+    @Value("${application.security.password-hashing.min-strength:10}")
+    private int minStrength;
+    @Value("${application.security.password-hashing.max-strength:16}")
+    private int maxStrength;
+}
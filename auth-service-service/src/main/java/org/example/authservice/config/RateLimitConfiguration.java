@@ -0,0 +1,47 @@
+package org.example.authservice.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "application.security.rate-limit")
+@Getter
+@Setter
+public class RateLimitConfiguration {
+
+    private boolean enabled = true;
+    private int slots = 16384;
+    private Map<String, EndpointLimit> endpoints = new HashMap<>(Map.of(
+            "authenticate", new EndpointLimit(new Bucket(30, Duration.ofMinutes(1)), new Bucket(10, Duration.ofMinutes(1))),
+            "register", new EndpointLimit(new Bucket(10, Duration.ofMinutes(1)), new Bucket(3, Duration.ofMinutes(1))),
+            "refresh-token", new EndpointLimit(new Bucket(60, Duration.ofMinutes(1)), null),
+            "introspect", new EndpointLimit(new Bucket(600, Duration.ofMinutes(1)), null),
+            "users-batch", new EndpointLimit(new Bucket(600, Duration.ofMinutes(1)), null)
+    ));
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EndpointLimit {
+        private Bucket ip;
+        private Bucket email;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private int capacity;
+        private Duration period;
+    }
+}
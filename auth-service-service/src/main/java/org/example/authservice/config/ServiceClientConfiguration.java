@@ -0,0 +1,18 @@
+package org.example.authservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "application.security.service-clients")
+@Getter
+@Setter
+public class ServiceClientConfiguration {
+
+    private Map<String, String> credentials = new HashMap<>();
+}
@@ -0,0 +1,23 @@
+package org.example.authservice.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@AllArgsConstructor
+@RequiredArgsConstructor
+@Getter
+public class TokenIntrospectionConfiguration {
+
+    @Value("${application.security.introspection.threads:0}")
+    private int threads;
+    @Value("${application.security.introspection.queue-capacity:256}")
+    private int queueCapacity;
+    @Value("${application.security.introspection.chunk-size:64}")
+    private int chunkSize;
+    @Value("${application.security.introspection.max-batch-size:1000}")
+    private int maxBatchSize;
+}
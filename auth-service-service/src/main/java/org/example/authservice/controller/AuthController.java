@@ -4,15 +4,31 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.authservice.config.TokenIntrospectionConfiguration;
+import org.example.authservice.config.UserBatchConfiguration;
 import org.example.authservice.domain.dto.AuthenticateResponse;
 import org.example.authservice.domain.dto.AuthenticationRequest;
-import org.example.authservice.domain.entity.User;
+import org.example.authservice.domain.dto.TokenIntrospection;
+import org.example.authservice.domain.dto.TokenIntrospectionRequest;
+import org.example.authservice.domain.dto.TokenRevocations;
+import org.example.authservice.domain.dto.UserBatchRequest;
+import org.example.authservice.domain.dto.UserInfo;
 import org.example.authservice.exception.AuthenticateException;
+import org.example.authservice.ratelimit.AuthRateLimiter;
 import org.example.authservice.service.AuthService;
+import org.example.authservice.service.TokenIntrospectionService;
+import org.example.authservice.service.TokenRevocationService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -21,28 +37,96 @@ import java.io.IOException;
 public class AuthController {
 
     private final AuthService authService;
+    private final UserBatchConfiguration userBatchConfiguration;
+    private final TokenIntrospectionService tokenIntrospectionService;
+    private final TokenIntrospectionConfiguration tokenIntrospectionConfiguration;
+    private final AuthRateLimiter authRateLimiter;
+    private final TokenRevocationService tokenRevocationService;
 
     @PostMapping("/register")
-    public ResponseEntity<AuthenticateResponse> register(@RequestBody AuthenticationRequest authenticationRequest) throws AuthenticateException {
+    public ResponseEntity<AuthenticateResponse> register(@RequestBody AuthenticationRequest authenticationRequest, HttpServletRequest request) throws AuthenticateException {
         log.info("Received register request with email {}", authenticationRequest.getEmail());
+        authRateLimiter.acquire("register", request.getRemoteAddr(), authenticationRequest.getEmail());
         return ResponseEntity.ok(authService.register(authenticationRequest));
     }
 
     @PostMapping("/authenticate")
-    public ResponseEntity<AuthenticateResponse> authenticate(@RequestBody AuthenticationRequest authenticationRequest) throws AuthenticateException {
+    public ResponseEntity<AuthenticateResponse> authenticate(@RequestBody AuthenticationRequest authenticationRequest, HttpServletRequest request) throws AuthenticateException {
         log.info("Received register request with email {}", authenticationRequest.getEmail());
+        authRateLimiter.acquire("authenticate", request.getRemoteAddr(), authenticationRequest.getEmail());
         return ResponseEntity.ok(authService.authenticate(authenticationRequest));
     }
 
     @PostMapping("/refresh-token")
     public void refreshToken(HttpServletRequest request, HttpServletResponse response) throws IOException {
         log.info("Received refresh token");
+        authRateLimiter.acquire("refresh-token", request.getRemoteAddr(), null);
         authService.refreshToken(request, response);
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(HttpServletRequest request){
+        log.info("Received logout request");
+        return authService.logout(request)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(HttpServletRequest request){
+        log.info("Received logout from all sessions request");
+        return authService.logoutAll(request)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+
     @GetMapping("/getInfo")
-    public ResponseEntity<User> getInfoAboutUser(@RequestParam(name = "email") String email){
+    public ResponseEntity<UserInfo> getInfoAboutUser(@RequestParam(name = "email") String email, WebRequest webRequest){
         log.info("Received get info about user");
-        return ResponseEntity.ok(authService.getInfo(email));
+        Optional<UserInfo> userInfo = authService.getInfo(email);
+        if(userInfo.isEmpty()){
+            return ResponseEntity.notFound().build();
+        }
+        String etag = etag(userInfo.get());
+        if(webRequest.checkNotModified(etag)){
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .body(userInfo.get());
+    }
+
+    @PostMapping("/users:batch")
+    public ResponseEntity<List<UserInfo>> getInfoAboutUsers(@RequestBody UserBatchRequest batchRequest, HttpServletRequest request){
+        authRateLimiter.acquire("users-batch", request.getRemoteAddr(), null);
+        int size = (batchRequest.getEmails() == null ? 0 : batchRequest.getEmails().size())
+                + (batchRequest.getUserUids() == null ? 0 : batchRequest.getUserUids().size());
+        log.info("Received get info about {} users", size);
+        if(size > userBatchConfiguration.getMaxSize()){
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(authService.getInfoBatch(batchRequest));
+    }
+
+    @PostMapping("/introspect")
+    public ResponseEntity<List<TokenIntrospection>> introspect(@RequestBody TokenIntrospectionRequest introspectionRequest, HttpServletRequest request){
+        authRateLimiter.acquire("introspect", request.getRemoteAddr(), null);
+        List<String> tokens = introspectionRequest.getTokens() == null ? List.of() : introspectionRequest.getTokens();
+        log.debug("Received introspection of {} tokens", tokens.size());
+        if(tokens.size() > tokenIntrospectionConfiguration.getMaxBatchSize()){
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(tokenIntrospectionService.introspect(tokens));
+    }
+
+    @GetMapping("/revocations")
+    public ResponseEntity<TokenRevocations> revocations(@RequestParam(name = "since", required = false) Long since){
+        log.debug("Received revocations request since {}", since);
+        return ResponseEntity.ok(tokenRevocationService.revocationsSince(since == null ? null : Instant.ofEpochMilli(since)));
+    }
+
+    private static String etag(UserInfo userInfo){
+        String version = userInfo.getId() + "|" + userInfo.getEmail() + "|" + userInfo.getUserUid() + "|" + userInfo.getRole();
+        return "\"" + DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8)) + "\"";
     }
 }
@@ -0,0 +1,39 @@
+package org.example.authservice.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.authservice.exception.ConcurrencyLimitExceededException;
+import org.example.authservice.exception.PasswordHashingRejectedException;
+import org.example.authservice.exception.RateLimitExceededException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+@Slf4j
+public class AuthExceptionHandler {
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<String> handlePasswordHashingRejected(PasswordHashingRejectedException exception){
+        log.warn("Rejected request: {}", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfter()))
+                .body(exception.getMessage());
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<String> handleRateLimitExceeded(RateLimitExceededException exception){
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfter()))
+                .body(exception.getMessage());
+    }
+
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<String> handleConcurrencyLimitExceeded(ConcurrencyLimitExceededException exception){
+        log.warn("Rejected request: {}", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfter()))
+                .body(exception.getMessage());
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.authservice.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final long retryAfter;
+
+    public ConcurrencyLimitExceededException(String errorMessage, long retryAfter){
+        super(errorMessage);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.authservice.exception;
+
+import lombok.Getter;
+
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfter;
+
+    public RateLimitExceededException(String errorMessage, long retryAfter){
+        super(errorMessage);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.authservice.hashing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(long latencyBudget, int minStrength, int maxStrength) {
+        new BCryptPasswordEncoder(minStrength).encode(CALIBRATION_PASSWORD);
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long elapsed = measure(strength);
+            log.debug("BCrypt strength {} took {} ms", strength, elapsed);
+            if(elapsed > latencyBudget){
+                break;
+            }
+            chosen = strength;
+            // every extra round doubles the cost, so the next strength cannot fit the budget
+            if(elapsed * 2 > latencyBudget){
+                break;
+            }
+        }
+        log.info("Calibrated BCrypt strength {} for a latency budget of {} ms", chosen, latencyBudget);
+        return chosen;
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode(CALIBRATION_PASSWORD);
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
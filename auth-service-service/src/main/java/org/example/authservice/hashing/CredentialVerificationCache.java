@@ -0,0 +1,98 @@
+package org.example.authservice.hashing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.authservice.config.CredentialCacheConfiguration;
+import org.example.authservice.filter.cache.SingleFlight;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+@Component
+public class CredentialVerificationCache {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, ConcurrentMap<String, CompletableFuture<Authentication>>> cache;
+    private final SecretKeySpec key;
+
+    @Autowired
+    public CredentialVerificationCache(CredentialCacheConfiguration configuration, MeterRegistry meterRegistry) {
+        this(configuration, Ticker.systemTicker());
+        if(cache != null){
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "credential-verifications");
+        }
+    }
+
+    CredentialVerificationCache(CredentialCacheConfiguration configuration, Ticker ticker) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.cache = configuration.isEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(configuration.getMaximumSize())
+                        .expireAfterWrite(Duration.ofMillis(configuration.getTtl()))
+                        .ticker(ticker)
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    public Authentication verify(String email, String password, Supplier<Authentication> verification) {
+        if(cache == null || email == null || password == null){
+            return verification.get();
+        }
+        String userKey = userKey(email);
+        ConcurrentMap<String, CompletableFuture<Authentication>> verifications = cache.get(userKey, ignored -> new ConcurrentHashMap<>());
+        try {
+            return SingleFlight.load(verifications, credentialKey(userKey, password), verification);
+        } catch (RuntimeException e) {
+            cache.asMap().computeIfPresent(userKey, (ignored, current) -> current.isEmpty() ? null : current);
+            throw e;
+        }
+    }
+
+    public void invalidate(String email) {
+        if(cache != null){
+            cache.invalidate(userKey(email));
+        }
+    }
+
+    public void invalidateAll(Collection<String> emails) {
+        if(cache != null && !emails.isEmpty()){
+            cache.invalidateAll(emails.stream().map(CredentialVerificationCache::userKey).toList());
+        }
+    }
+
+    String credentialKey(String email, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(email.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return HexFormat.of().formatHex(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot compute credential key", e);
+        }
+    }
+
+    private static String userKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.authservice.hashing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.authservice.config.PasswordHashingConfiguration;
+import org.example.authservice.exception.PasswordHashingRejectedException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeout;
+    private final long retryAfter;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+    private final Counter timedOut;
+
+    public PasswordHashingExecutor(PasswordHashingConfiguration configuration, MeterRegistry meterRegistry) {
+        int threads = configuration.getThreads() > 0 ? configuration.getThreads() : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(configuration.getQueueCapacity()),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = configuration.getTimeout();
+        this.retryAfter = configuration.getRetryAfter();
+        this.meterRegistry = meterRegistry;
+        this.rejected = Counter.builder("auth.password.hashing.rejected")
+                .description("Password hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("auth.password.hashing.timeout")
+                .description("Password hashing tasks abandoned because they did not finish within the timeout")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+        log.info("Password hashing executor started with {} threads and queue capacity {}", threads, configuration.getQueueCapacity());
+    }
+
+    public <T> T execute(String operation, Supplier<T> task) {
+        Timer timer = hashTimer(operation);
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.record(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing queue is full, rejecting {}", operation);
+            throw new PasswordHashingRejectedException("Password hashing capacity exceeded", retryAfter);
+        }
+        try {
+            return future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Password hashing interrupted", retryAfter);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            log.warn("Password hashing did not finish within {} ms, abandoning {}", timeout, operation);
+            throw new PasswordHashingRejectedException("Password hashing timed out", retryAfter);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException runtimeException){
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(String operation, Supplier<T> task) {
+        Timer timer = hashTimer(operation);
+        try {
+            return CompletableFuture.supplyAsync(() -> timer.record(task), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new PasswordHashingRejectedException("Password hashing capacity exceeded", retryAfter));
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private Timer hashTimer(String operation) {
+        return Timer.builder("auth.password.hashing")
+                .description("Time spent hashing or matching passwords")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.authservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+@Name(AuthRequestEvent.NAME)
+@Label("Auth Request")
+@Description("Register, authenticate or refresh call that took longer than the threshold")
+@Category({"Auth Service", "Service"})
+@Threshold("500 ms")
+@StackTrace(false)
+public class AuthRequestEvent extends Event {
+    public static final String NAME = "org.example.authservice.AuthRequest";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Outcome")
+    public String outcome = "failed";
+
+    @Label("Password Hashing")
+    @Description("Hashing a new password or authenticating the presented one")
+    @Timespan(Timespan.NANOSECONDS)
+    public long passwordHashing;
+
+    @Label("Token Verification")
+    @Timespan(Timespan.NANOSECONDS)
+    public long tokenVerification;
+
+    @Label("User Lookup")
+    @Timespan(Timespan.NANOSECONDS)
+    public long userLookup;
+
+    @Label("Persistence")
+    @Timespan(Timespan.NANOSECONDS)
+    public long persistence;
+
+    @Label("Access Token Signing")
+    @Timespan(Timespan.NANOSECONDS)
+    public long accessTokenSigning;
+
+    @Label("Refresh Token Issue")
+    @Description("Signing and storing the refresh token, including rotation")
+    @Timespan(Timespan.NANOSECONDS)
+    public long refreshTokenIssue;
+
+    @Label("Response Write")
+    @Timespan(Timespan.NANOSECONDS)
+    public long responseWrite;
+
+    private transient long mark;
+
+    public static AuthRequestEvent start(String operation) {
+        AuthRequestEvent event = new AuthRequestEvent();
+        event.operation = operation;
+        event.begin();
+        event.mark = System.nanoTime();
+        return event;
+    }
+
+    public long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - mark;
+        mark = now;
+        return elapsed;
+    }
+}
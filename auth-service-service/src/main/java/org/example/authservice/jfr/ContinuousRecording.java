@@ -0,0 +1,98 @@
+package org.example.authservice.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.authservice.config.FlightRecorderConfiguration;
+import org.example.authservice.filter.jfr.TokenFilterEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ContinuousRecording implements SmartLifecycle {
+    private static final String NAME = "auth-service";
+
+    private final FlightRecorderConfiguration flightRecorderConfiguration;
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+    private volatile Recording recording;
+
+    @Override
+    public void start() {
+        if(!flightRecorderConfiguration.isEnabled() || !FlightRecorder.isAvailable()){
+            return;
+        }
+        lifecycleLock.lock();
+        try {
+            Recording continuous = new Recording(Configuration.getConfiguration("default"));
+            continuous.setName(NAME);
+            continuous.setToDisk(true);
+            continuous.setMaxAge(Duration.ofMillis(flightRecorderConfiguration.getMaxAge()));
+            continuous.setMaxSize(flightRecorderConfiguration.getMaxSize());
+            continuous.enable(AuthRequestEvent.class)
+                    .withThreshold(Duration.ofMillis(flightRecorderConfiguration.getAuthRequestThreshold()));
+            continuous.enable(TokenFilterEvent.class)
+                    .withThreshold(Duration.ofMillis(flightRecorderConfiguration.getTokenFilterThreshold()));
+            continuous.start();
+            recording = continuous;
+            log.info("Started continuous flight recording");
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            log.warn("Could not start continuous flight recording", e);
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    @Override
+    public void stop() {
+        lifecycleLock.lock();
+        try {
+            if(recording != null){
+                recording.close();
+                recording = null;
+            }
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recording != null;
+    }
+
+    public Path dump(Duration window) throws IOException {
+        Recording current = recording;
+        if(current == null){
+            return null;
+        }
+        Path file = Files.createTempFile(NAME + "-", ".jfr");
+        try (Recording copy = current.copy(true)) {
+            Instant start = window == null ? null : Instant.now().minus(window);
+            try (InputStream stream = copy.getStream(start, null)) {
+                if(stream == null){
+                    Files.delete(file);
+                    return null;
+                }
+                Files.copy(stream, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+}
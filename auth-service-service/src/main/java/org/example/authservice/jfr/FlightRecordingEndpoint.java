@@ -0,0 +1,52 @@
+package org.example.authservice.jfr;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class FlightRecordingEndpoint {
+
+    private final ContinuousRecording continuousRecording;
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource dump(@Nullable Long seconds) throws IOException {
+        Path file = continuousRecording.dump(seconds == null ? null : Duration.ofSeconds(seconds));
+        return file == null ? null : new TemporaryFileSystemResource(file.toFile());
+    }
+
+    private static final class TemporaryFileSystemResource extends FileSystemResource {
+
+        private TemporaryFileSystemResource(File file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+    }
+}
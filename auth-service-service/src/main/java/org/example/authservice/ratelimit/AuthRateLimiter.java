@@ -0,0 +1,60 @@
+package org.example.authservice.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.authservice.config.RateLimitConfiguration;
+import org.example.authservice.exception.RateLimitExceededException;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j
+public class AuthRateLimiter {
+    private static final String REJECTED_METER = "auth.ratelimit.rejected";
+
+    private final boolean enabled;
+    private final Map<String, TokenBucketTable> ipBuckets = new HashMap<>();
+    private final Map<String, TokenBucketTable> emailBuckets = new HashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public AuthRateLimiter(RateLimitConfiguration configuration, MeterRegistry meterRegistry) {
+        this.enabled = configuration.isEnabled();
+        this.meterRegistry = meterRegistry;
+        configuration.getEndpoints().forEach((endpoint, limit) -> {
+            if(limit.getIp() != null){
+                ipBuckets.put(endpoint, table(configuration, limit.getIp()));
+            }
+            if(limit.getEmail() != null){
+                emailBuckets.put(endpoint, table(configuration, limit.getEmail()));
+            }
+        });
+    }
+
+    public void acquire(String endpoint, String clientIp, String email) {
+        if(!enabled){
+            return;
+        }
+        check(endpoint, "ip", ipBuckets.get(endpoint), clientIp);
+        check(endpoint, "email", emailBuckets.get(endpoint), email == null ? null : email.toLowerCase(Locale.ROOT));
+    }
+
+    private void check(String endpoint, String keyType, TokenBucketTable buckets, String key) {
+        if(buckets == null || key == null){
+            return;
+        }
+        long wait = buckets.tryAcquire(key);
+        if(wait > 0){
+            meterRegistry.counter(REJECTED_METER, "endpoint", endpoint, "key", keyType).increment();
+            log.debug("Rate limited {} request by {}", endpoint, keyType);
+            throw new RateLimitExceededException("Too many requests", Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999L)));
+        }
+    }
+
+    private static TokenBucketTable table(RateLimitConfiguration configuration, RateLimitConfiguration.Bucket bucket) {
+        return new TokenBucketTable(configuration.getSlots(), bucket.getCapacity(), bucket.getPeriod());
+    }
+}
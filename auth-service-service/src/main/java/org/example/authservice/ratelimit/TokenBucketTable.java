@@ -0,0 +1,63 @@
+package org.example.authservice.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+public class TokenBucketTable {
+
+    private final AtomicLongArray theoreticalArrivals;
+    private final int mask;
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final LongSupplier nanoClock;
+    private final long origin;
+    private final long seed = ThreadLocalRandom.current().nextLong();
+
+    public TokenBucketTable(int slots, int capacity, Duration period) {
+        this(slots, capacity, period, System::nanoTime);
+    }
+
+    TokenBucketTable(int slots, int capacity, Duration period, LongSupplier nanoClock) {
+        if(capacity <= 0 || period.isZero() || period.isNegative()){
+            throw new IllegalArgumentException("Bucket capacity and period must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.theoreticalArrivals = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.emissionInterval = Math.max(1, period.toNanos() / capacity);
+        this.burstTolerance = emissionInterval * capacity;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong() - burstTolerance;
+    }
+
+    public long tryAcquire(String key) {
+        int slot = slot(key);
+        while (true) {
+            long now = nanoClock.getAsLong() - origin;
+            long current = theoreticalArrivals.get(slot);
+            long next = Math.max(current, now) + emissionInterval;
+            long wait = next - now - burstTolerance;
+            if(wait > 0){
+                return wait;
+            }
+            if(theoreticalArrivals.compareAndSet(slot, current, next)){
+                return 0;
+            }
+        }
+    }
+
+    int slot(String key) {
+        long hash = seed;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        hash *= 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    int size() {
+        return theoreticalArrivals.length();
+    }
+}
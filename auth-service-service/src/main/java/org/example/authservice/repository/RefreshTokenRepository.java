@@ -0,0 +1,30 @@
+package org.example.authservice.repository;
+
+import org.example.authservice.domain.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    boolean existsByTokenHash(String tokenHash);
+
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken r set r.usedAt = :now where r.tokenHash = :tokenHash and r.usedAt is null and r.revokedAt is null and r.expiresAt > :now")
+    int markUsed(@Param("tokenHash") String tokenHash, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken r set r.revokedAt = :now where r.familyId = :familyId and r.revokedAt is null")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from refresh_token where id in (select id from refresh_token where expires_at <= :now limit :batchSize)", nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now, @Param("batchSize") int batchSize);
+}
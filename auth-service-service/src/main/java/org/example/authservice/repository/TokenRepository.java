@@ -0,0 +1,28 @@
+package org.example.authservice.repository;
+
+import org.example.authservice.domain.entity.Token;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenRepository extends JpaRepository<Token, Integer> {
+
+    @Query("select t.token as token, t.expiresAt as expiresAt from Token t where t.revokedAt > :since and t.expiresAt > :now")
+    List<RevokedToken> findRevokedSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from token where id in (select id from token where expires_at <= :now limit :batchSize)", nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now, @Param("batchSize") int batchSize);
+
+    interface RevokedToken {
+        String getToken();
+
+        Instant getExpiresAt();
+    }
+}
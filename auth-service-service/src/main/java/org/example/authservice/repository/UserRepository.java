@@ -1,13 +1,59 @@
 package org.example.authservice.repository;
 
+import org.example.authservice.domain.dto.UserInfo;
 import org.example.authservice.domain.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
 
-    Optional<User> findByEmail(String email);
+    @Query("select u from User u where lower(u.email) = lower(:email)")
+    Optional<User> findByEmail(@Param("email") String email);
 
-}
+    @Query("select new org.example.authservice.domain.dto.UserInfo(u.id, u.email, u.userUid, u.role) from User u where lower(u.email) = lower(:email)")
+    Optional<UserInfo> findInfoByEmail(@Param("email") String email);
+
+    @Query(value = "select * from _user where lower(email) = any(:emails) or user_uid = any(:userUids)", nativeQuery = true)
+    List<User> findAllByLowerEmailOrUserUid(@Param("emails") String[] lowerEmails, @Param("userUids") String[] userUids);
+
+    @Query(value = "select id, email, user_uid as \"userUid\", role from _user where lower(email) = any(:emails) or user_uid = any(:userUids)", nativeQuery = true)
+    List<UserInfoRow> findInfoByLowerEmailOrUserUid(@Param("emails") String[] lowerEmails, @Param("userUids") String[] userUids);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :newPassword where u.id = :id and u.password = :oldPassword")
+    int updatePassword(@Param("id") Integer id, @Param("oldPassword") String oldPassword, @Param("newPassword") String newPassword);
+
+    @Transactional
+    @Query(value = "update _user set token_epoch = token_epoch + 1, token_epoch_updated_at = :updatedAt where id = :id returning token_epoch", nativeQuery = true)
+    int incrementTokenEpoch(@Param("id") Integer id, @Param("updatedAt") Instant updatedAt);
+
+    @Query(value = "select user_uid as \"userUid\", email as \"email\", token_epoch as \"tokenEpoch\" from _user where token_epoch_updated_at > :since", nativeQuery = true)
+    List<TokenEpoch> findTokenEpochsUpdatedSince(@Param("since") Instant since);
+
+    interface UserInfoRow {
+        Integer getId();
 
+        String getEmail();
+
+        String getUserUid();
+
+        String getRole();
+    }
+
+    interface TokenEpoch {
+        String getUserUid();
+
+        String getEmail();
+
+        Integer getTokenEpoch();
+    }
+
+}
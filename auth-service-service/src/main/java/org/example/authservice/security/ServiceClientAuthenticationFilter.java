@@ -0,0 +1,78 @@
+package org.example.authservice.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.example.authservice.config.ServiceClientConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+public class ServiceClientAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String ROLE = "SERVICE";
+    private static final String BASIC_PREFIX = "Basic ";
+    private static final byte[] UNKNOWN_CLIENT = sha256("");
+
+    private final Map<String, byte[]> secretDigests = new HashMap<>();
+
+    public ServiceClientAuthenticationFilter(ServiceClientConfiguration configuration) {
+        configuration.getCredentials().forEach((clientId, secret) -> secretDigests.put(clientId, sha256(secret)));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if(authHeader != null && authHeader.startsWith(BASIC_PREFIX)){
+            String clientId = authenticate(authHeader.substring(BASIC_PREFIX.length()));
+            if(clientId != null){
+                SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                        clientId, null, List.of(new SimpleGrantedAuthority("ROLE_" + ROLE))));
+            } else {
+                log.debug("Rejected service client credentials for {}", request.getRequestURI());
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private String authenticate(String encodedCredentials) {
+        String credentials;
+        try {
+            credentials = new String(Base64.getDecoder().decode(encodedCredentials), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        int separator = credentials.indexOf(':');
+        if(separator < 0){
+            return null;
+        }
+        String clientId = credentials.substring(0, separator);
+        byte[] expected = secretDigests.getOrDefault(clientId, UNKNOWN_CLIENT);
+        boolean matches = MessageDigest.isEqual(expected, sha256(credentials.substring(separator + 1)));
+        return matches && expected != UNKNOWN_CLIENT ? clientId : null;
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
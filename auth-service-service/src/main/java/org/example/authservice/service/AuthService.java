@@ -1,6 +1,9 @@
 package org.example.authservice.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -8,18 +11,33 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.example.authservice.domain.dto.AuthenticateResponse;
 import org.example.authservice.domain.dto.AuthenticationRequest;
+import org.example.authservice.domain.dto.UserBatchRequest;
+import org.example.authservice.domain.dto.UserInfo;
 import org.example.authservice.domain.entity.Role;
 import org.example.authservice.domain.entity.User;
 import org.example.authservice.exception.AuthenticateException;
+import org.example.authservice.filter.cache.CachedUserDetailsService;
+import org.example.authservice.filter.model.TokenClaims;
+import org.example.authservice.filter.model.VerifiedToken;
 import org.example.authservice.filter.service.JwtService;
+import org.example.authservice.hashing.CredentialVerificationCache;
+import org.example.authservice.jfr.AuthRequestEvent;
 import org.example.authservice.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -27,54 +45,111 @@ import java.util.UUID;
 @Slf4j
 @RequiredArgsConstructor
 public class AuthService {
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String EMAIL_INDEX = "_user_email_lower_idx";
 
     private final UserRepository repository;
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
+    private final CredentialVerificationCache credentialVerificationCache;
+    private final CachedUserDetailsService userDetailsService;
+    private final PasswordUpgradeService passwordUpgradeService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final MeterRegistry meterRegistry;
 
 
     public AuthenticateResponse register(AuthenticationRequest authenticationRequest) throws AuthenticateException {
-        checkIfUserExist(authenticationRequest.getEmail());
-        var user = User.builder()
-                .email(authenticationRequest.getEmail())
-                .userUid(UUID.randomUUID().toString())
-                .password(passwordEncoder.encode(authenticationRequest.getPassword()))
-                .role(Role.USER)
-                .build();
-        var jwtToken = jwtService.generateToken(user);
-        var refreshToken = jwtService.generateRefreshToken(user);
-        log.info("User was created");
-        repository.save(user);
-        return AuthenticateResponse.builder()
-                .refreshToken(refreshToken)
-                .accessToken(jwtToken)
-                .build();
+        AuthRequestEvent event = AuthRequestEvent.start("register");
+        try {
+            var password = passwordEncoder.encode(authenticationRequest.getPassword());
+            event.passwordHashing = event.lap();
+            var user = User.builder()
+                    .email(authenticationRequest.getEmail())
+                    .userUid(UUID.randomUUID().toString())
+                    .password(password)
+                    .role(Role.USER)
+                    .build();
+            insertUser(user);
+            event.persistence = event.lap();
+            log.info("User was created");
+            userDetailsService.invalidate(user.getEmail());
+            credentialVerificationCache.invalidate(user.getEmail());
+            var claims = tokenClaims(user);
+            var jwtToken = jwtService.generateToken(user, claims);
+            event.accessTokenSigning = event.lap();
+            var refreshToken = refreshTokenService.issue(user, claims);
+            event.refreshTokenIssue = event.lap();
+            event.outcome = "success";
+            return AuthenticateResponse.builder()
+                    .refreshToken(refreshToken)
+                    .accessToken(jwtToken)
+                    .build();
+        } finally {
+            event.commit();
+        }
     }
 
-    private void checkIfUserExist(String email) throws AuthenticateException {
-        Optional<User> existingUser = repository.findByEmail(email);
-        if(existingUser.isPresent()){
+    private void insertUser(User user) throws AuthenticateException {
+        try {
+            repository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if(!isDuplicateEmail(e)){
+                throw e;
+            }
             log.error("User with given email exist");
             throw new AuthenticateException("User with given email exist");
         }
     }
 
+    private static boolean isDuplicateEmail(DataIntegrityViolationException exception) {
+        for(Throwable cause = exception.getCause(); cause != null; cause = cause.getCause()){
+            if(cause instanceof ConstraintViolationException violation){
+                return UNIQUE_VIOLATION.equals(violation.getSQLState()) && EMAIL_INDEX.equals(violation.getConstraintName());
+            }
+        }
+        return false;
+    }
+
     public AuthenticateResponse authenticate(AuthenticationRequest authenticationRequest) throws AuthenticateException {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        authenticationRequest.getEmail(),
-                        authenticationRequest.getPassword()
-                ));
-        var user = repository.findByEmail(authenticationRequest.getEmail()).orElseThrow(
+        AuthRequestEvent event = AuthRequestEvent.start("authenticate");
+        try {
+            Authentication authentication = credentialVerificationCache.verify(
+                    authenticationRequest.getEmail(),
+                    authenticationRequest.getPassword(),
+                    () -> authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(
+                                    authenticationRequest.getEmail(),
+                                    authenticationRequest.getPassword()
+                            )));
+            event.passwordHashing = event.lap();
+            var user = authenticatedUser(authentication, authenticationRequest.getEmail());
+            event.userLookup = event.lap();
+            passwordUpgradeService.upgradeIfNeeded(user, authenticationRequest.getPassword());
+            event.persistence = event.lap();
+            var claims = tokenClaims(user);
+            var jwtToken = jwtService.generateToken(user, claims);
+            event.accessTokenSigning = event.lap();
+            var refreshToken = refreshTokenService.issue(user, claims);
+            event.refreshTokenIssue = event.lap();
+            event.outcome = "success";
+            return AuthenticateResponse.builder()
+                    .accessToken(jwtToken)
+                    .refreshToken(refreshToken)
+                    .build();
+        } finally {
+            event.commit();
+        }
+    }
+
+    private User authenticatedUser(Authentication authentication, String email) throws AuthenticateException {
+        if(authentication.getPrincipal() instanceof User user){
+            return user;
+        }
+        return repository.findByEmail(email).orElseThrow(
                 ()-> new AuthenticateException("Given user is not registered!")
         );
-        var jwtToken = jwtService.generateToken(user);
-        var refreshToken = jwtService.generateRefreshToken(user);
-        return AuthenticateResponse.builder()
-                .accessToken(jwtToken)
-                .refreshToken(refreshToken)
-                .build();
     }
 
     public void refreshToken(HttpServletRequest request, HttpServletResponse response) throws IOException {
@@ -82,22 +157,148 @@ public class AuthService {
         if(authHeader == null || !authHeader.startsWith("Bearer ")){
             return;
         }
-        String refreshToken = authHeader.substring(7);
-        String userEmail = jwtService.extractEmail(refreshToken);
-        if(userEmail != null){
-            var user = this.repository.findByEmail(userEmail).orElseThrow();
-            if(jwtService.isTokenValid(refreshToken, user)){
-                var accessToken = jwtService.generateToken(user);
-                var authResponse = AuthenticateResponse.builder()
-                        .accessToken(accessToken)
-                        .refreshToken(refreshToken)
-                        .build();
-                new ObjectMapper().writeValue(response.getOutputStream(), authResponse);
-            }
+        AuthRequestEvent event = AuthRequestEvent.start("refresh");
+        try {
+            refreshToken(authHeader.substring(7), response, event);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private void refreshToken(String refreshToken, HttpServletResponse response, AuthRequestEvent event) throws IOException {
+        VerifiedToken verifiedToken;
+        try {
+            verifiedToken = jwtService.verify(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected refresh token: {}", e.getMessage());
+            rejectRefresh(response, event, "invalid_token");
+            return;
+        }
+        event.tokenVerification = event.lap();
+        if(!refreshTokenService.isRefreshToken(verifiedToken)){
+            rejectRefresh(response, event, "not_refresh_token");
+            return;
+        }
+        String userEmail = verifiedToken.getSubject();
+        if(userEmail == null){
+            rejectRefresh(response, event, "invalid_token");
+            return;
+        }
+        var user = this.repository.findByEmail(userEmail).orElse(null);
+        event.userLookup = event.lap();
+        if(user == null){
+            rejectRefresh(response, event, "unknown_user");
+            return;
+        }
+        if(!jwtService.isTokenValid(verifiedToken, user) || tokenRevocationService.isRevoked(verifiedToken)){
+            rejectRefresh(response, event, "revoked");
+            return;
+        }
+        var claims = tokenClaims(user);
+        var rotatedRefreshToken = refreshTokenService.rotate(refreshToken, verifiedToken, user, claims);
+        event.refreshTokenIssue = event.lap();
+        if(rotatedRefreshToken == null){
+            rejectRefresh(response, event, "reused");
+            return;
+        }
+        var accessToken = jwtService.generateToken(user, claims);
+        event.accessTokenSigning = event.lap();
+        var authResponse = AuthenticateResponse.builder()
+                .accessToken(accessToken)
+                .refreshToken(rotatedRefreshToken)
+                .build();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        new ObjectMapper().writeValue(response.getOutputStream(), authResponse);
+        sample.stop(meterRegistry.timer("auth.response.write"));
+        event.responseWrite = event.lap();
+        event.outcome = "success";
+    }
+
+    private static void rejectRefresh(HttpServletResponse response, AuthRequestEvent event, String outcome) {
+        event.outcome = outcome;
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+    }
+
+    public boolean logout(HttpServletRequest request) {
+        VerifiedToken verifiedToken = verifiedBearerToken(request);
+        if(verifiedToken == null || verifiedToken.getSubject() == null){
+            return false;
+        }
+        var user = this.repository.findByEmail(verifiedToken.getSubject());
+        if(user.isEmpty()){
+            return false;
+        }
+        tokenRevocationService.revoke(verifiedToken, user.get());
+        return true;
+    }
+
+    public boolean logoutAll(HttpServletRequest request) {
+        VerifiedToken verifiedToken = verifiedBearerToken(request);
+        if(verifiedToken == null || verifiedToken.getSubject() == null || tokenRevocationService.isRevoked(verifiedToken)){
+            return false;
+        }
+        var user = this.repository.findByEmail(verifiedToken.getSubject());
+        if(user.isEmpty()){
+            return false;
+        }
+        tokenRevocationService.revokeAll(user.get());
+        return true;
+    }
+
+    private VerifiedToken verifiedBearerToken(HttpServletRequest request) {
+        final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if(authHeader == null || !authHeader.startsWith("Bearer ")){
+            return null;
+        }
+        try {
+            return jwtService.verify(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected bearer token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, Object> tokenClaims(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TokenClaims.EPOCH, user.getTokenEpoch());
+        claims.put(TokenClaims.USER_UID, user.getUserUid());
+        if(!jwtService.isStatelessPrincipal()){
+            return claims;
+        }
+        if(user.getRole() != null){
+            claims.put(TokenClaims.ROLE, user.getRole().name());
+        }
+        return claims;
+    }
+
+    public Optional<UserInfo> getInfo(String email) {
+        return repository.findInfoByEmail(email);
+    }
+
+    public List<UserInfo> getInfoBatch(UserBatchRequest batchRequest) {
+        List<String> emails = batchRequest.getEmails() == null ? List.of() : batchRequest.getEmails();
+        List<String> userUids = batchRequest.getUserUids() == null ? List.of() : batchRequest.getUserUids();
+        if(emails.isEmpty() && userUids.isEmpty()){
+            return List.of();
+        }
+        List<UserRepository.UserInfoRow> found = repository.findInfoByLowerEmailOrUserUid(
+                emails.stream().map(AuthService::lowerEmail).toArray(String[]::new),
+                userUids.toArray(String[]::new));
+        Map<String, UserInfo> byEmail = new HashMap<>();
+        Map<String, UserInfo> byUserUid = new HashMap<>();
+        for(UserRepository.UserInfoRow row : found){
+            UserInfo userInfo = new UserInfo(row.getId(), row.getEmail(), row.getUserUid(),
+                    row.getRole() == null ? null : Role.valueOf(row.getRole()));
+            byEmail.put(lowerEmail(userInfo.getEmail()), userInfo);
+            byUserUid.put(userInfo.getUserUid(), userInfo);
         }
+        List<UserInfo> users = new ArrayList<>(emails.size() + userUids.size());
+        emails.forEach(email -> users.add(email == null ? null : byEmail.get(lowerEmail(email))));
+        userUids.forEach(userUid -> users.add(byUserUid.get(userUid)));
+        return users;
     }
 
-    public User getInfo(String email) {
-        return repository.findByEmail(email).orElseThrow();
+    private static String lowerEmail(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
     }
 }
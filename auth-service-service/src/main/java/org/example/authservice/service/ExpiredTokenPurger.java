@@ -0,0 +1,47 @@
+package org.example.authservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.authservice.repository.RefreshTokenRepository;
+import org.example.authservice.repository.TokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.function.BiFunction;
+
+@Component
+@Slf4j
+public class ExpiredTokenPurger {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRepository tokenRepository;
+    private final int batchSize;
+
+    public ExpiredTokenPurger(RefreshTokenRepository refreshTokenRepository, TokenRepository tokenRepository,
+                              @Value("${application.security.token-purge.batch-size:1000}") int batchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRepository = tokenRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.token-purge.interval:60000}")
+    public void purge() {
+        Instant now = Instant.now();
+        int refreshTokens = purge(refreshTokenRepository::deleteExpired, now);
+        int revokedTokens = purge(tokenRepository::deleteExpired, now);
+        if(refreshTokens > 0 || revokedTokens > 0){
+            log.info("Purged {} expired refresh tokens and {} expired revoked tokens", refreshTokens, revokedTokens);
+        }
+    }
+
+    private int purge(BiFunction<Instant, Integer, Integer> deleteBatch, Instant now) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = deleteBatch.apply(now, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.authservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.authservice.domain.entity.User;
+import org.example.authservice.filter.cache.CachedUserDetailsService;
+import org.example.authservice.hashing.CredentialVerificationCache;
+import org.example.authservice.hashing.ExecutorPasswordEncoder;
+import org.example.authservice.repository.UserRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PasswordUpgradeService {
+
+    private final UserRepository repository;
+    private final ExecutorPasswordEncoder passwordEncoder;
+    private final CachedUserDetailsService userDetailsService;
+    private final CredentialVerificationCache credentialVerificationCache;
+
+    public CompletableFuture<Boolean> upgradeIfNeeded(User user, String rawPassword) {
+        if(!passwordEncoder.upgradeEncoding(user.getPassword())){
+            return CompletableFuture.completedFuture(false);
+        }
+        String oldPassword = user.getPassword();
+        return passwordEncoder.encodeAsync(rawPassword)
+                .thenApply(newPassword -> {
+                    boolean updated = repository.updatePassword(user.getId(), oldPassword, newPassword) == 1;
+                    if(updated){
+                        userDetailsService.invalidate(user.getEmail());
+                        credentialVerificationCache.invalidate(user.getEmail());
+                        log.info("Upgraded password hash of user {}", user.getUserUid());
+                    }
+                    return updated;
+                })
+                .exceptionally(throwable -> {
+                    log.warn("Cannot upgrade password hash of user {}", user.getUserUid(), throwable);
+                    return false;
+                });
+    }
+}
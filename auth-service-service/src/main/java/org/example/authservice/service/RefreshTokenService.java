@@ -0,0 +1,84 @@
+package org.example.authservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.authservice.domain.entity.RefreshToken;
+import org.example.authservice.domain.entity.User;
+import org.example.authservice.filter.configuration.JwtGeneratorConfiguration;
+import org.example.authservice.filter.model.TokenClaims;
+import org.example.authservice.filter.model.VerifiedToken;
+import org.example.authservice.filter.service.JwtService;
+import org.example.authservice.repository.RefreshTokenRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository repository;
+    private final JwtService jwtService;
+    private final Duration refreshExpiration;
+
+    public RefreshTokenService(RefreshTokenRepository repository, JwtService jwtService,
+                               JwtGeneratorConfiguration jwtGeneratorConfiguration) {
+        this.repository = repository;
+        this.jwtService = jwtService;
+        this.refreshExpiration = Duration.ofMillis(jwtGeneratorConfiguration.getRefreshExpiration());
+    }
+
+    public String issue(User user, Map<String, Object> claims) {
+        return issue(user, claims, UUID.randomUUID().toString());
+    }
+
+    public boolean isRefreshToken(VerifiedToken verifiedToken) {
+        return TokenClaims.REFRESH_TOKEN.equals(verifiedToken.getClaim(TokenClaims.TOKEN_USE, String.class))
+                && verifiedToken.getClaim(TokenClaims.FAMILY_ID, String.class) != null;
+    }
+
+    @Transactional
+    public String rotate(String presentedToken, VerifiedToken verifiedToken, User user, Map<String, Object> claims) {
+        String familyId = verifiedToken.getClaim(TokenClaims.FAMILY_ID, String.class);
+        Instant now = Instant.now();
+        String tokenHash = hash(presentedToken);
+        if(repository.markUsed(tokenHash, now) == 1){
+            return issue(user, claims, familyId);
+        }
+        if(repository.existsByTokenHash(tokenHash)){
+            repository.revokeFamily(familyId, now);
+            log.warn("Refresh token reuse detected, revoked token family of user {}", user.getUserUid());
+        }
+        return null;
+    }
+
+    private String issue(User user, Map<String, Object> claims, String familyId) {
+        Map<String, Object> refreshClaims = new HashMap<>(claims);
+        refreshClaims.put(TokenClaims.FAMILY_ID, familyId);
+        String refreshToken = jwtService.generateRefreshToken(user, refreshClaims);
+        repository.save(RefreshToken.builder()
+                .tokenHash(hash(refreshToken))
+                .familyId(familyId)
+                .user(user)
+                .expiresAt(Instant.now().plus(refreshExpiration))
+                .build());
+        return refreshToken;
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.authservice.service;
+
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.example.authservice.config.TokenIntrospectionConfiguration;
+import org.example.authservice.domain.dto.TokenIntrospection;
+import org.example.authservice.domain.entity.User;
+import org.example.authservice.filter.model.TokenClaims;
+import org.example.authservice.filter.model.VerifiedToken;
+import org.example.authservice.filter.service.JwtService;
+import org.example.authservice.repository.UserRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Slf4j
+public class TokenIntrospectionService implements DisposableBean {
+
+    private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserRepository userRepository;
+    private final ThreadPoolExecutor executor;
+    private final int chunkSize;
+
+    public TokenIntrospectionService(JwtService jwtService, TokenRevocationService tokenRevocationService,
+                                     UserRepository userRepository, TokenIntrospectionConfiguration configuration) {
+        this.jwtService = jwtService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.userRepository = userRepository;
+        this.chunkSize = Math.max(1, configuration.getChunkSize());
+        int threads = configuration.getThreads() > 0 ? configuration.getThreads() : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(configuration.getQueueCapacity()),
+                new CustomizableThreadFactory("token-introspection-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        log.info("Token introspection executor started with {} threads and chunk size {}", threads, chunkSize);
+    }
+
+    public List<TokenIntrospection> introspect(List<String> tokens) {
+        List<VerifiedToken> verifiedTokens = verifyAll(tokens);
+        Map<String, User> users = jwtService.isStatelessPrincipal() ? Map.of() : findUsers(verifiedTokens);
+        List<TokenIntrospection> introspections = new ArrayList<>(verifiedTokens.size());
+        for(VerifiedToken verifiedToken : verifiedTokens){
+            introspections.add(describe(verifiedToken, users));
+        }
+        return introspections;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private List<VerifiedToken> verifyAll(List<String> tokens) {
+        if(tokens.size() <= chunkSize){
+            return verifyChunk(tokens);
+        }
+        List<CompletableFuture<List<VerifiedToken>>> chunks = new ArrayList<>();
+        for(int from = 0; from < tokens.size(); from += chunkSize){
+            List<String> chunk = tokens.subList(from, Math.min(tokens.size(), from + chunkSize));
+            chunks.add(CompletableFuture.supplyAsync(() -> verifyChunk(chunk), executor));
+        }
+        List<VerifiedToken> verifiedTokens = new ArrayList<>(tokens.size());
+        chunks.forEach(chunk -> verifiedTokens.addAll(chunk.join()));
+        return verifiedTokens;
+    }
+
+    private List<VerifiedToken> verifyChunk(List<String> tokens) {
+        List<VerifiedToken> verifiedTokens = new ArrayList<>(tokens.size());
+        for(String token : tokens){
+            verifiedTokens.add(verify(token));
+        }
+        return verifiedTokens;
+    }
+
+    private VerifiedToken verify(String token) {
+        if(token == null || token.isBlank()){
+            return null;
+        }
+        try {
+            VerifiedToken verifiedToken = jwtService.verify(token);
+            return verifiedToken.getSubject() == null || !verifiedToken.isAccessToken()
+                    || tokenRevocationService.isRevoked(verifiedToken) ? null : verifiedToken;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Map<String, User> findUsers(List<VerifiedToken> verifiedTokens) {
+        List<String> emails = new ArrayList<>();
+        List<String> userUids = new ArrayList<>();
+        for(VerifiedToken verifiedToken : verifiedTokens){
+            if(verifiedToken == null){
+                continue;
+            }
+            String userUid = verifiedToken.getClaim(TokenClaims.USER_UID, String.class);
+            if(userUid != null){
+                userUids.add(userUid);
+            }else{
+                emails.add(lowerEmail(verifiedToken.getSubject()));
+            }
+        }
+        if(emails.isEmpty() && userUids.isEmpty()){
+            return Map.of();
+        }
+        Map<String, User> users = new HashMap<>();
+        for(User user : userRepository.findAllByLowerEmailOrUserUid(emails.toArray(String[]::new), userUids.toArray(String[]::new))){
+            users.put(user.getUserUid(), user);
+            users.put(lowerEmail(user.getEmail()), user);
+        }
+        return users;
+    }
+
+    private TokenIntrospection describe(VerifiedToken verifiedToken, Map<String, User> users) {
+        if(verifiedToken == null){
+            return TokenIntrospection.inactive();
+        }
+        String role = verifiedToken.getClaim(TokenClaims.ROLE, String.class);
+        if(!jwtService.isStatelessPrincipal()){
+            String userUid = verifiedToken.getClaim(TokenClaims.USER_UID, String.class);
+            User user = users.get(userUid != null ? userUid : lowerEmail(verifiedToken.getSubject()));
+            if(user == null || !jwtService.isTokenValid(verifiedToken, user)){
+                return TokenIntrospection.inactive();
+            }
+            role = user.getRole() == null ? null : user.getRole().name();
+        }
+        return TokenIntrospection.builder()
+                .active(true)
+                .subject(verifiedToken.getSubject())
+                .expiresAt(verifiedToken.getExpiration() == null ? null : verifiedToken.getExpiration().getEpochSecond())
+                .role(role)
+                .build();
+    }
+
+    private static String lowerEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
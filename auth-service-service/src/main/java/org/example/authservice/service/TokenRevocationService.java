@@ -0,0 +1,120 @@
+package org.example.authservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.authservice.domain.dto.TokenRevocations;
+import org.example.authservice.domain.entity.Token;
+import org.example.authservice.domain.entity.User;
+import org.example.authservice.filter.cache.CachedUserDetailsService;
+import org.example.authservice.filter.configuration.JwtGeneratorConfiguration;
+import org.example.authservice.filter.model.VerifiedToken;
+import org.example.authservice.filter.revocation.TokenRevocationRegistry;
+import org.example.authservice.hashing.CredentialVerificationCache;
+import org.example.authservice.repository.TokenRepository;
+import org.example.authservice.repository.UserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private static final Duration LOAD_OVERLAP = Duration.ofMinutes(1);
+
+    private final TokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final TokenRevocationRegistry registry;
+    private final CachedUserDetailsService userDetailsService;
+    private final CredentialVerificationCache credentialVerificationCache;
+    private final Duration maxTokenLifetime;
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private Instant loadedUntil;
+
+    public TokenRevocationService(TokenRepository tokenRepository, UserRepository userRepository,
+                                  TokenRevocationRegistry registry, CachedUserDetailsService userDetailsService,
+                                  CredentialVerificationCache credentialVerificationCache,
+                                  JwtGeneratorConfiguration jwtGeneratorConfiguration) {
+        this.tokenRepository = tokenRepository;
+        this.userRepository = userRepository;
+        this.registry = registry;
+        this.userDetailsService = userDetailsService;
+        this.credentialVerificationCache = credentialVerificationCache;
+        this.maxTokenLifetime = Duration.ofMillis(Math.max(jwtGeneratorConfiguration.getJwtExpiration(),
+                jwtGeneratorConfiguration.getRefreshExpiration()));
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        return registry.isRevoked(token);
+    }
+
+    public void revoke(VerifiedToken token, User user) {
+        if(token.getId() == null || token.getExpiration() == null){
+            return;
+        }
+        try {
+            tokenRepository.save(Token.builder()
+                    .token(token.getId())
+                    .revoked(true)
+                    .expiresAt(token.getExpiration())
+                    .revokedAt(Instant.now())
+                    .user(user)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Token {} was already revoked", token.getId());
+        }
+        registry.revoke(token.getId(), token.getExpiration());
+    }
+
+    public void revokeAll(User user) {
+        Instant now = Instant.now();
+        int epoch = userRepository.incrementTokenEpoch(user.getId(), now);
+        registry.revokeAll(user.getUserUid(), epoch, now.plus(maxTokenLifetime));
+        userDetailsService.invalidate(user.getEmail());
+        credentialVerificationCache.invalidate(user.getEmail());
+        log.info("Revoked all tokens of user {}", user.getUserUid());
+    }
+
+    public TokenRevocations revocationsSince(Instant requestedSince) {
+        Instant now = Instant.now();
+        Instant oldest = now.minus(maxTokenLifetime);
+        Instant since = requestedSince == null || requestedSince.isBefore(oldest) ? oldest : requestedSince;
+        long epochExpiresAt = now.plus(maxTokenLifetime).toEpochMilli();
+        return TokenRevocations.builder()
+                .until(now.toEpochMilli())
+                .tokens(tokenRepository.findRevokedSince(since, now).stream()
+                        .map(token -> new TokenRevocations.RevokedToken(token.getToken(), token.getExpiresAt().toEpochMilli()))
+                        .toList())
+                .epochs(userRepository.findTokenEpochsUpdatedSince(since).stream()
+                        .map(epoch -> new TokenRevocations.RevokedEpoch(epoch.getUserUid(), epoch.getTokenEpoch(), epochExpiresAt))
+                        .toList())
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.revocation.refresh-interval:5000}")
+    public void load() {
+        loadLock.lock();
+        try {
+            Instant now = Instant.now();
+            Instant since = loadedUntil == null ? now.minus(maxTokenLifetime) : loadedUntil.minus(LOAD_OVERLAP);
+            tokenRepository.findRevokedSince(since, now)
+                    .forEach(token -> registry.revoke(token.getToken(), token.getExpiresAt()));
+            Set<String> bumpedEmails = new HashSet<>();
+            userRepository.findTokenEpochsUpdatedSince(since)
+                    .forEach(epoch -> {
+                        registry.revokeAll(epoch.getUserUid(), epoch.getTokenEpoch(), now.plus(maxTokenLifetime));
+                        bumpedEmails.add(epoch.getEmail());
+                    });
+            credentialVerificationCache.invalidateAll(bumpedEmails);
+            registry.purgeExpired();
+            loadedUntil = now;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+}
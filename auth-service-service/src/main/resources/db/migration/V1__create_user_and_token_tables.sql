@@ -1,12 +1,14 @@
 create table _user(
     id integer PRIMARY KEY,
-    email VARCHAR(255) UNIQUE NOT NULL,
+    email VARCHAR(255) NOT NULL,
     user_uid VARCHAR(255) unique NOT NULL,
     password VARCHAR(255) NOT NULL,
     role VARCHAR(255)
 );
 
-CREATE sequence _user_seq increment 1 start 1;
+CREATE UNIQUE INDEX _user_email_lower_idx ON _user (lower(email));
+
+CREATE sequence _user_seq increment 50 start 1;
 
 create table token(
     id integer PRIMARY KEY,
@@ -19,4 +21,4 @@ create table token(
 	        REFERENCES _user(id)
 );
 
-CREATE sequence token_seq increment 1 start 1;
+CREATE sequence token_seq increment 50 start 1;
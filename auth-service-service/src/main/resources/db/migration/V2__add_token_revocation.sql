@@ -0,0 +1,17 @@
+ALTER TABLE _user ADD COLUMN token_epoch integer NOT NULL DEFAULT 0;
+ALTER TABLE _user ADD COLUMN token_epoch_updated_at timestamp with time zone;
+
+CREATE INDEX _user_token_epoch_updated_at_idx ON _user (token_epoch_updated_at) WHERE token_epoch_updated_at IS NOT NULL;
+
+ALTER TABLE token ADD COLUMN expires_at timestamp with time zone;
+ALTER TABLE token ADD COLUMN revoked_at timestamp with time zone;
+
+UPDATE token SET expires_at = now() + interval '7 days' WHERE expires_at IS NULL;
+UPDATE token SET revoked_at = now() WHERE revoked_at IS NULL AND revoked;
+
+ALTER TABLE token ALTER COLUMN expires_at SET NOT NULL;
+ALTER TABLE token ADD CONSTRAINT token_token_key UNIQUE (token);
+ALTER TABLE token DROP CONSTRAINT fk_token;
+ALTER TABLE token ADD CONSTRAINT fk_token FOREIGN KEY (user_id) REFERENCES _user(id) ON DELETE CASCADE;
+
+CREATE INDEX token_revoked_at_idx ON token (revoked_at);
@@ -0,0 +1,20 @@
+create table refresh_token(
+    id bigint PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    user_id integer NOT NULL,
+    expires_at timestamp with time zone NOT NULL,
+    used_at timestamp with time zone,
+    revoked_at timestamp with time zone,
+    CONSTRAINT refresh_token_token_hash_key UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_token_user
+        FOREIGN KEY(user_id)
+            REFERENCES _user(id)
+            ON DELETE CASCADE
+);
+
+CREATE INDEX refresh_token_family_id_idx ON refresh_token (family_id);
+CREATE INDEX refresh_token_expires_at_idx ON refresh_token (expires_at);
+CREATE INDEX token_expires_at_idx ON token (expires_at);
+
+CREATE sequence refresh_token_seq increment 50 start 1;
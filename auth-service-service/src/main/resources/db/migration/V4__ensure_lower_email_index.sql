@@ -0,0 +1 @@
+CREATE UNIQUE INDEX IF NOT EXISTS _user_email_lower_idx ON _user (lower(email));
@@ -0,0 +1,7 @@
+SELECT setval('_user_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM _user), (SELECT last_value FROM _user_seq), 1));
+ALTER SEQUENCE _user_seq INCREMENT BY 50;
+
+SELECT setval('token_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM token), (SELECT last_value FROM token_seq), 1));
+ALTER SEQUENCE token_seq INCREMENT BY 50;
+
+ALTER TABLE token ALTER COLUMN revoked_at DROP NOT NULL;
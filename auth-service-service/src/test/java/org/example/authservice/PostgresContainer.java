@@ -40,8 +40,7 @@ public class PostgresContainer implements ApplicationContextInitializer<Configur
                 "spring.datasource.url=" + container.getJdbcUrl(),
                 "spring.datasource.username=" + container.getUsername(),
                 "spring.datasource.password=" + container.getPassword(),
-                "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
-                "spring.jpa.hibernate.ddl-auto=none"
+                "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
         ).applyTo(applicationContext.getEnvironment());
     }
 
@@ -53,10 +52,6 @@ public class PostgresContainer implements ApplicationContextInitializer<Configur
         }
     }
 
-    public void initDatabase() throws IOException {
-        executeResourceSQL("classpath:init.sql");
-    }
-
     public void clearRecords() throws IOException {
         executeResourceSQL("classpath:clear-records.sql");
     }
@@ -68,9 +63,4 @@ public class PostgresContainer implements ApplicationContextInitializer<Configur
     public List<Map<String, Object>> executeQueryForObjects(String sql){
         return new JdbcTemplate(dataSource).queryForList(sql);
     }
-
-    public void clearDatabase() throws IOException {
-        executeResourceSQL("classpath:clear.sql");
-
-    }
 }
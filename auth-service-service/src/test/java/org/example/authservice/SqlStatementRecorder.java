@@ -0,0 +1,32 @@
+package org.example.authservice;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim());
+        return sql;
+    }
+
+    public static void clear() {
+        statements.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(statements);
+    }
+
+    public static List<String> statementsExcludingIdAllocation() {
+        return statements.stream()
+                .filter(statement -> !statement.contains("nextval"))
+                .toList();
+    }
+}
@@ -37,11 +37,6 @@ public class ApplicationTest {
     @Autowired
     private MockMvc mockMvc;
 
-    @BeforeAll
-    void beforeAll() throws IOException {
-        container.initDatabase();
-    }
-
     @AfterEach
     void afterEach() throws IOException {
         container.clearRecords();
@@ -50,7 +45,6 @@ public class ApplicationTest {
     @AfterAll
     void afterAll() throws IOException {
         container.clearRecords();
-        container.clearDatabase();
     }
 
     @Test
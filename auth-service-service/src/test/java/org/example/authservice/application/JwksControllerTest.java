@@ -0,0 +1,57 @@
+package org.example.authservice.application;
+
+import org.example.authservice.Application;
+import org.example.authservice.domain.dto.AuthenticateResponse;
+import org.example.authservice.domain.dto.AuthenticationRequest;
+import org.example.authservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.JsonNode;
+import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = Application.class,
+        properties = {
+                "application.security.jwt.signing.algorithm=RS256",
+                "application.security.jwt.signing.allow-ephemeral-key=true"
+        })
+public class JwksControllerTest {
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void afterEach(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void jwksShouldContainKeyUsedToSignTokens() throws Exception {
+        // given
+        AuthenticationRequest registerRequest = AuthenticationRequest.builder()
+                .email("email")
+                .password("password")
+                .build();
+        AuthenticateResponse registerResponse = testRestTemplate.postForEntity("/api/v1/auth/register", registerRequest, AuthenticateResponse.class).getBody();
+
+        // when
+        var response = testRestTemplate.getForEntity("/.well-known/jwks.json", String.class);
+
+        // then
+        Assertions.assertTrue(response.getStatusCode().is2xxSuccessful());
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode jwk = objectMapper.readTree(response.getBody()).path("keys").get(0);
+        String header = new String(Base64.getUrlDecoder().decode(registerResponse.getAccessToken().split("\\.")[0]), StandardCharsets.UTF_8);
+        Assertions.assertEquals("RSA", jwk.path("kty").asText());
+        Assertions.assertEquals(jwk.path("kid").asText(), objectMapper.readTree(header).path("kid").asText());
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.authservice.application;
+
+import org.example.authservice.Application;
+import org.example.authservice.domain.dto.AuthenticationRequest;
+import org.example.authservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = Application.class,
+        properties = "management.metrics.tags.node=test-node")
+public class MetricsEndpointTest {
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void afterEach(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void prometheusShouldExposeLoginPhaseHistogramsWithNodeTag() {
+        // given
+        AuthenticationRequest request = AuthenticationRequest.builder()
+                .email("email")
+                .password("password")
+                .build();
+        testRestTemplate.postForEntity("/api/v1/auth/register", request, String.class);
+        testRestTemplate.postForEntity("/api/v1/auth/authenticate", request, String.class);
+
+        // when
+        var response = testRestTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        // then
+        Assertions.assertTrue(response.getStatusCode().is2xxSuccessful(), response.toString());
+        String body = response.getBody();
+        Assertions.assertTrue(body.contains("auth_jwt_sign_seconds_bucket{node=\"test-node\""), "missing token signing histogram");
+        Assertions.assertTrue(body.contains("auth_password_hashing_seconds_bucket{node=\"test-node\",operation=\"matches\""), "missing password match histogram");
+        Assertions.assertTrue(body.contains("spring_data_repository_invocations_seconds_bucket"), "missing repository histogram");
+        Assertions.assertTrue(body.contains("method=\"findByEmail\""), "missing findByEmail timer");
+    }
+}
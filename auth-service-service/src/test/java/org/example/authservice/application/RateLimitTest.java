@@ -0,0 +1,125 @@
+package org.example.authservice.application;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.authservice.Application;
+import org.example.authservice.domain.dto.AuthenticationRequest;
+import org.example.authservice.domain.dto.TokenIntrospectionRequest;
+import org.example.authservice.domain.dto.UserBatchRequest;
+import org.example.authservice.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = Application.class, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "application.security.rate-limit.enabled=true",
+        "application.security.rate-limit.endpoints.authenticate.ip.capacity=100",
+        "application.security.rate-limit.endpoints.authenticate.ip.period=1m",
+        "application.security.rate-limit.endpoints.authenticate.email.capacity=2",
+        "application.security.rate-limit.endpoints.authenticate.email.period=1m",
+        "application.security.rate-limit.endpoints.introspect.ip.capacity=1",
+        "application.security.rate-limit.endpoints.introspect.ip.period=1m",
+        "application.security.rate-limit.endpoints.users-batch.ip.capacity=1",
+        "application.security.rate-limit.endpoints.users-batch.ip.period=1m",
+        "server.forward-headers-strategy=native",
+        "server.tomcat.remoteip.internal-proxies=127\\.0\\.0\\.1|0:0:0:0:0:0:0:1"
+})
+public class RateLimitTest {
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void afterEach(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void authenticateShouldBeRejectedPerEmailBeforeTouchingDatabase() {
+        // given
+        String email = "limited-email";
+        testRestTemplate.postForEntity("/api/v1/auth/register", request(email, "password"), String.class);
+        var first = testRestTemplate.postForEntity("/api/v1/auth/authenticate", request(email, "wrong-password"), String.class);
+        var second = testRestTemplate.postForEntity("/api/v1/auth/authenticate", request("LIMITED-EMAIL", "wrong-password"), String.class);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        var limited = testRestTemplate.postForEntity("/api/v1/auth/authenticate", request(email, "password"), String.class);
+        var otherUser = testRestTemplate.postForEntity("/api/v1/auth/authenticate", request("other-email", "password"), String.class);
+
+        // then
+        Assertions.assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, first.getStatusCode());
+        Assertions.assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, second.getStatusCode());
+        Assertions.assertEquals(HttpStatus.TOO_MANY_REQUESTS, limited.getStatusCode());
+        Assertions.assertNotNull(limited.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        Assertions.assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, otherUser.getStatusCode());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void introspectShouldBeRejectedPerClientAddress() {
+        // given
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBasicAuth("test-client", "test-secret");
+        HttpEntity<TokenIntrospectionRequest> introspection = new HttpEntity<>(TokenIntrospectionRequest.builder()
+                .tokens(List.of("not-a-token"))
+                .build(), headers);
+
+        // when
+        var first = testRestTemplate.exchange("/api/v1/auth/introspect", HttpMethod.POST, introspection, String.class);
+        var limited = testRestTemplate.exchange("/api/v1/auth/introspect", HttpMethod.POST, introspection, String.class);
+
+        // then
+        Assertions.assertEquals(HttpStatus.OK, first.getStatusCode());
+        Assertions.assertEquals(HttpStatus.TOO_MANY_REQUESTS, limited.getStatusCode());
+    }
+
+    @Test
+    void usersBatchShouldBeRejectedPerForwardedClientAddress() {
+        // given
+        UserBatchRequest batchRequest = UserBatchRequest.builder().emails(List.of("batch-email")).build();
+
+        // when
+        var first = testRestTemplate.exchange("/api/v1/auth/users:batch", HttpMethod.POST, batch(batchRequest, "203.0.113.1"), String.class);
+        var limited = testRestTemplate.exchange("/api/v1/auth/users:batch", HttpMethod.POST, batch(batchRequest, "203.0.113.1"), String.class);
+        var otherClient = testRestTemplate.exchange("/api/v1/auth/users:batch", HttpMethod.POST, batch(batchRequest, "203.0.113.2"), String.class);
+
+        // then
+        Assertions.assertEquals(HttpStatus.OK, first.getStatusCode());
+        Assertions.assertEquals(HttpStatus.TOO_MANY_REQUESTS, limited.getStatusCode());
+        Assertions.assertEquals(HttpStatus.OK, otherClient.getStatusCode());
+    }
+
+    private static HttpEntity<UserBatchRequest> batch(UserBatchRequest batchRequest, String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBasicAuth("test-client", "test-secret");
+        headers.add("X-Forwarded-For", forwardedFor);
+        return new HttpEntity<>(batchRequest, headers);
+    }
+
+    private static AuthenticationRequest request(String email, String password) {
+        return AuthenticationRequest.builder()
+                .email(email)
+                .password(password)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.authservice.application;
+
+import org.example.authservice.Application;
+import org.example.authservice.domain.dto.AuthenticationRequest;
+import org.example.authservice.domain.dto.UserBatchRequest;
+import org.example.authservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = Application.class)
+public class UserInfoEndpointTest {
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void afterEach(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getInfoShouldReturnProjectionWithEtagAndHonourIfNoneMatch() {
+        // given
+        String email = "info-email";
+        testRestTemplate.postForEntity("/api/v1/auth/register", AuthenticationRequest.builder()
+                .email(email)
+                .password("password")
+                .build(), String.class);
+        var first = testRestTemplate.getForEntity("/api/v1/auth/getInfo?email=" + email, String.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(first.getHeaders().getETag());
+
+        // when
+        var second = testRestTemplate.exchange("/api/v1/auth/getInfo?email=" + email, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        // then
+        Assertions.assertEquals(HttpStatus.OK, first.getStatusCode());
+        Assertions.assertNotNull(first.getHeaders().getETag());
+        Assertions.assertTrue(first.getBody().contains("\"email\":\"" + email + "\""));
+        Assertions.assertFalse(first.getBody().contains("password"));
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        Assertions.assertNull(second.getBody());
+    }
+
+    @Test
+    void getInfoShouldReturnNotFoundForUnknownUser() {
+        // when
+        var response = testRestTemplate.getForEntity("/api/v1/auth/getInfo?email=unknown-email", String.class);
+
+        // then
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void usersBatchShouldRequireServiceClientCredentials() {
+        // given
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBasicAuth("test-client", "wrong-secret");
+        UserBatchRequest batchRequest = UserBatchRequest.builder().emails(List.of("batch-email")).build();
+
+        // when
+        var anonymous = testRestTemplate.postForEntity("/api/v1/auth/users:batch", batchRequest, String.class);
+        var wrongSecret = testRestTemplate.exchange("/api/v1/auth/users:batch", HttpMethod.POST,
+                new HttpEntity<>(batchRequest, headers), String.class);
+
+        // then
+        Assertions.assertEquals(HttpStatus.UNAUTHORIZED, anonymous.getStatusCode());
+        Assertions.assertEquals(HttpStatus.UNAUTHORIZED, wrongSecret.getStatusCode());
+    }
+
+    @Test
+    void usersBatchShouldReturnProjectionWithoutCredentials() {
+        // given
+        String email = "batch-email";
+        testRestTemplate.postForEntity("/api/v1/auth/register", AuthenticationRequest.builder()
+                .email(email)
+                .password("password")
+                .build(), String.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBasicAuth("test-client", "test-secret");
+        UserBatchRequest batchRequest = UserBatchRequest.builder().emails(List.of(email, "unknown-email")).build();
+
+        // when
+        var response = testRestTemplate.exchange("/api/v1/auth/users:batch", HttpMethod.POST,
+                new HttpEntity<>(batchRequest, headers), String.class);
+
+        // then
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertTrue(response.getBody().contains("\"email\":\"" + email + "\""), response.getBody());
+        Assertions.assertTrue(response.getBody().endsWith(",null]"), response.getBody());
+        Assertions.assertFalse(response.getBody().contains("password"));
+        Assertions.assertFalse(response.getBody().contains("tokenEpoch"));
+    }
+}
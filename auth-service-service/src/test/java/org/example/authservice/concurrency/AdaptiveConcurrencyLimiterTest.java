@@ -0,0 +1,88 @@
+package org.example.authservice.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 4, 100,
+            1.5, 0.5, 10, meterRegistry, clock::get);
+
+    @Test
+    void shouldRejectLowPriorityBeforeCriticalImmediately(){
+        // given
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for(int i = 0; i < 12; i++){
+            permits.add(limiter.tryAcquire(RequestPriority.LOW).orElseThrow());
+        }
+
+        // when
+        Optional<AdaptiveConcurrencyLimiter.Permit> low = limiter.tryAcquire(RequestPriority.LOW);
+        Optional<AdaptiveConcurrencyLimiter.Permit> normal = limiter.tryAcquire(RequestPriority.NORMAL);
+        Optional<AdaptiveConcurrencyLimiter.Permit> critical = limiter.tryAcquire(RequestPriority.CRITICAL);
+
+        // then
+        Assertions.assertTrue(low.isEmpty());
+        Assertions.assertTrue(normal.isPresent());
+        Assertions.assertTrue(critical.isPresent());
+        Assertions.assertEquals(14, limiter.getInFlight());
+        Assertions.assertEquals(1.0, meterRegistry.counter("auth.concurrency.rejected", "limiter", "test", "priority", "LOW").count());
+    }
+
+    @Test
+    void shouldGrowLimitWhileLatencyIsStable(){
+        // when
+        runWindows(20, Duration.ofMillis(10));
+
+        // then
+        Assertions.assertTrue(limiter.getLimit() > 20);
+    }
+
+    @Test
+    void shouldShrinkLimitWhenQueueingRaisesLatency(){
+        // given
+        runWindows(20, Duration.ofMillis(10));
+        int stableLimit = limiter.getLimit();
+
+        // when
+        runWindows(5, Duration.ofMillis(50));
+
+        // then
+        Assertions.assertTrue(limiter.getLimit() < stableLimit);
+    }
+
+    @Test
+    void shouldNotGrowLimitWhenDemandIsLow(){
+        // when
+        for(int i = 0; i < 20; i++){
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(RequestPriority.NORMAL).orElseThrow();
+            clock.addAndGet(Duration.ofMillis(10).toNanos());
+            permit.release();
+        }
+
+        // then
+        Assertions.assertEquals(20, limiter.getLimit());
+        Assertions.assertEquals(0, limiter.getInFlight());
+    }
+
+    private void runWindows(int windows, Duration rtt) {
+        for(int window = 0; window < windows; window++){
+            List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            Optional<AdaptiveConcurrencyLimiter.Permit> permit;
+            while ((permit = limiter.tryAcquire(RequestPriority.CRITICAL)).isPresent()){
+                permits.add(permit.get());
+            }
+            clock.addAndGet(rtt.toNanos());
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+        }
+    }
+}
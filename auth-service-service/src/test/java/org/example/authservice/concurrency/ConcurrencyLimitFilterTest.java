@@ -0,0 +1,49 @@
+package org.example.authservice.concurrency;
+
+import org.example.authservice.Application;
+import org.example.authservice.domain.entity.User;
+import org.example.authservice.exception.ConcurrencyLimitExceededException;
+import org.example.authservice.filter.cache.CachedUserDetailsService;
+import org.example.authservice.filter.service.JwtService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = Application.class, properties = "application.concurrency-limit.retry-after=3")
+@AutoConfigureMockMvc
+public class ConcurrencyLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @MockBean
+    private CachedUserDetailsService userDetailsService;
+
+    @Test
+    void repositoryLimitInAuthenticationFilterShouldRespondWith503() throws Exception {
+        // given
+        String token = jwtService.generateToken(User.builder()
+                .email("limited-email")
+                .password("password")
+                .build());
+        Mockito.when(userDetailsService.loadUserByUsername("limited-email"))
+                .thenThrow(new ConcurrencyLimitExceededException("Database concurrency limit exceeded", 3));
+
+        // when and then
+        mockMvc.perform(get("/actuator/jfr").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"));
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.authservice.filter;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.example.authservice.Application;
 import org.example.authservice.domain.dto.AuthenticateResponse;
 import org.example.authservice.domain.dto.AuthenticationRequest;
@@ -26,6 +27,9 @@ public class AuthFilterTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @AfterEach
     void afterEach(){
         userRepository.deleteAll();
@@ -68,10 +72,109 @@ public class AuthFilterTest {
         Assertions.assertEquals(response.getStatusCode(), HttpStatusCode.valueOf(403));
     }
 
+    @Test
+    void shouldResponseWith403IfUserUsesRefreshTokenAsAccessToken(){
+        // given
+        String refreshToken = registerUser(AuthenticationRequest.builder().email("email").password("test").build()).getRefreshToken();
+        double wrongTokenUse = rejections("wrong_token_use");
+
+        // when
+        var response = sendRequestToTestController(refreshToken);
+
+        // then
+        Assertions.assertEquals(response.getStatusCode(), HttpStatusCode.valueOf(403));
+        Assertions.assertEquals(wrongTokenUse + 1, rejections("wrong_token_use"));
+    }
+
+    @Test
+    void shouldRejectTokenAfterLogout(){
+        // given
+        AuthenticationRequest request = AuthenticationRequest.builder().email("email").password("test").build();
+        String token = registerUser(request).getAccessToken();
+        String otherToken = authenticateUser(request).getAccessToken();
+
+        // when
+        var logoutResponse = sendRequest("/api/v1/auth/logout", token);
+
+        // then
+        Assertions.assertEquals(HttpStatusCode.valueOf(204), logoutResponse.getStatusCode());
+        Assertions.assertEquals(HttpStatusCode.valueOf(403), sendRequestToTestController(token).getStatusCode());
+        Assertions.assertTrue(sendRequestToTestController(otherToken).getStatusCode().is2xxSuccessful());
+    }
+
+    @Test
+    void shouldRejectAllUserTokensAfterLogoutFromAllSessions(){
+        // given
+        AuthenticationRequest request = AuthenticationRequest.builder().email("email").password("test").build();
+        String token = registerUser(request).getAccessToken();
+        String otherToken = authenticateUser(request).getAccessToken();
+
+        // when
+        var logoutResponse = sendRequest("/api/v1/auth/logout-all", token);
+
+        // then
+        Assertions.assertEquals(HttpStatusCode.valueOf(204), logoutResponse.getStatusCode());
+        Assertions.assertEquals(HttpStatusCode.valueOf(403), sendRequestToTestController(token).getStatusCode());
+        Assertions.assertEquals(HttpStatusCode.valueOf(403), sendRequestToTestController(otherToken).getStatusCode());
+
+        // and
+        String newToken = authenticateUser(request).getAccessToken();
+        Assertions.assertTrue(sendRequestToTestController(newToken).getStatusCode().is2xxSuccessful());
+    }
+
+    @Test
+    void shouldResponseWith401OnLogoutWithInvalidToken(){
+        // given and when
+        var logoutResponse = sendRequest("/api/v1/auth/logout", "invalid");
+        var logoutAllResponse = sendRequest("/api/v1/auth/logout-all", "invalid");
+
+        // then
+        Assertions.assertEquals(HttpStatusCode.valueOf(401), logoutResponse.getStatusCode());
+        Assertions.assertEquals(HttpStatusCode.valueOf(401), logoutAllResponse.getStatusCode());
+    }
+
+    @Test
+    void shouldResponseWith401OnLogoutOfDeletedUser(){
+        // given
+        String token = registerUser(AuthenticationRequest.builder().email("email").password("test").build()).getAccessToken();
+        userRepository.delete(userRepository.findByEmail("email").get());
+
+        // when
+        var logoutResponse = sendRequest("/api/v1/auth/logout", token);
+        var logoutAllResponse = sendRequest("/api/v1/auth/logout-all", token);
+
+        // then
+        Assertions.assertEquals(HttpStatusCode.valueOf(401), logoutResponse.getStatusCode());
+        Assertions.assertEquals(HttpStatusCode.valueOf(401), logoutAllResponse.getStatusCode());
+    }
+
+    @Test
+    void shouldCountRejectionReasons(){
+        // given
+        double malformed = rejections("malformed");
+        double missingHeader = rejections("missing_header");
+
+        // when
+        sendRequestToTestController("invalid");
+        testRestTemplate.exchange("http://localhost:7777/api/v1/test", HttpMethod.POST, HttpEntity.EMPTY, String.class);
+
+        // then
+        Assertions.assertEquals(malformed + 1, rejections("malformed"));
+        Assertions.assertEquals(missingHeader + 1, rejections("missing_header"));
+    }
+
+    private double rejections(String reason){
+        return meterRegistry.counter("auth.filter.rejected", "reason", reason).count();
+    }
+
     private ResponseEntity<String> sendRequestToTestController(String token){
+        return sendRequest("/api/v1/test", token);
+    }
+
+    private ResponseEntity<String> sendRequest(String path, String token){
         HttpHeaders headers = new HttpHeaders();
         headers.add("Authorization","Bearer " + token);
-        var response = testRestTemplate.exchange("http://localhost:7777/api/v1/test", HttpMethod.POST,
+        var response = testRestTemplate.exchange("http://localhost:7777" + path, HttpMethod.POST,
                 new HttpEntity<>(headers), String.class);
         return response;
     }
@@ -81,4 +184,10 @@ public class AuthFilterTest {
         return registerResponse.getBody();
     }
 
+    private AuthenticateResponse authenticateUser(AuthenticationRequest authenticationRequest){
+        var authenticateResponse = testRestTemplate.postForEntity("/api/v1/auth/authenticate", authenticationRequest, AuthenticateResponse.class);
+        Assertions.assertTrue(authenticateResponse.getStatusCode().is2xxSuccessful());
+        return authenticateResponse.getBody();
+    }
+
 }
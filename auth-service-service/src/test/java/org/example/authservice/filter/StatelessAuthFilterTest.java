@@ -0,0 +1,92 @@
+package org.example.authservice.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.authservice.Application;
+import org.example.authservice.domain.dto.AuthenticateResponse;
+import org.example.authservice.domain.dto.AuthenticationRequest;
+import org.example.authservice.filter.model.TokenClaims;
+import org.example.authservice.filter.service.JwtService;
+import org.example.authservice.repository.UserRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = Application.class,
+        properties = "application.security.jwt.stateless-principal=true")
+@ActiveProfiles(profiles = "test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(TestSecurityConfiguration.class)
+public class StatelessAuthFilterTest {
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void afterEach(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void tokenShouldCarryRoleAndUserUid(){
+        // given
+        String token = registerUser(AuthenticationRequest.builder().email("email").password("test").build()).getAccessToken();
+
+        // when
+        var verifiedToken = jwtService.verify(token);
+
+        // then
+        Assertions.assertEquals("USER", verifiedToken.getClaim(TokenClaims.ROLE, String.class));
+        Assertions.assertNotNull(verifiedToken.getClaim(TokenClaims.USER_UID, String.class));
+    }
+
+    @Test
+    void protectedRequestShouldNotQueryRepository(){
+        // given
+        String token = registerUser(AuthenticationRequest.builder().email("email").password("test").build()).getAccessToken();
+        long repositoryCallsBefore = repositoryInvocations();
+        Assertions.assertTrue(repositoryCallsBefore > 0);
+
+        // when
+        var response = sendRequestToTestController(token);
+
+        // then
+        Assertions.assertTrue(response.getStatusCode().is2xxSuccessful());
+        Assertions.assertEquals("ok", response.getBody());
+        Assertions.assertEquals(repositoryCallsBefore, repositoryInvocations());
+    }
+
+    private long repositoryInvocations(){
+        return meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", UserRepository.class.getSimpleName())
+                .timers()
+                .stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    private ResponseEntity<String> sendRequestToTestController(String token){
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Authorization","Bearer " + token);
+        return testRestTemplate.exchange("/api/v1/test", HttpMethod.POST, new HttpEntity<>(headers), String.class);
+    }
+
+    private AuthenticateResponse registerUser(AuthenticationRequest authenticationRequest){
+        var registerResponse = testRestTemplate.postForEntity("/api/v1/auth/register", authenticationRequest, AuthenticateResponse.class);
+        Assertions.assertTrue(registerResponse.getStatusCode().is2xxSuccessful());
+        return registerResponse.getBody();
+    }
+}
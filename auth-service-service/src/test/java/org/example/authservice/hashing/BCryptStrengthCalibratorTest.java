@@ -0,0 +1,25 @@
+package org.example.authservice.hashing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BCryptStrengthCalibratorTest {
+
+    @Test
+    void shouldPickMaximumStrengthWhenBudgetAllows(){
+        // when
+        int strength = BCryptStrengthCalibrator.calibrate(Long.MAX_VALUE, 4, 6);
+
+        // then
+        Assertions.assertEquals(6, strength);
+    }
+
+    @Test
+    void shouldNotGoBelowMinimumStrength(){
+        // when
+        int strength = BCryptStrengthCalibrator.calibrate(0, 4, 6);
+
+        // then
+        Assertions.assertEquals(4, strength);
+    }
+}
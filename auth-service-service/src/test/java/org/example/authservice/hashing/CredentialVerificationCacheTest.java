@@ -0,0 +1,173 @@
+package org.example.authservice.hashing;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.example.authservice.config.CredentialCacheConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class CredentialVerificationCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final CredentialVerificationCache cache = new CredentialVerificationCache(
+            new CredentialCacheConfiguration(true, 100, 5000), ticker);
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    void shouldReuseSuccessfulVerificationWithinTtl(){
+        // when
+        Authentication first = cache.verify("dummy-email", "password", verification("dummy-email"));
+        Authentication second = cache.verify("dummy-email", "password", verification("dummy-email"));
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+        Authentication expired = cache.verify("dummy-email", "password", verification("dummy-email"));
+
+        // then
+        Assertions.assertSame(first, second);
+        Assertions.assertNotSame(first, expired);
+        Assertions.assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void shouldNotCacheFailedVerificationOrOtherPasswords(){
+        // when
+        Assertions.assertThrows(BadCredentialsException.class,
+                () -> cache.verify("dummy-email", "wrong-password", failingVerification()));
+        Assertions.assertThrows(BadCredentialsException.class,
+                () -> cache.verify("dummy-email", "wrong-password", failingVerification()));
+        cache.verify("dummy-email", "password", verification("dummy-email"));
+
+        // then
+        Assertions.assertEquals(3, verifications.get());
+    }
+
+    @Test
+    void concurrentIdenticalVerificationsShouldShareOneCheck() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Authentication> slowVerification = () -> {
+            verifications.incrementAndGet();
+            started.countDown();
+            await(release);
+            return new UsernamePasswordAuthenticationToken("dummy-email", null, List.of());
+        };
+        CompletableFuture<Authentication> first = CompletableFuture.supplyAsync(() -> cache.verify("dummy-email", "password", slowVerification));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Authentication> second = CompletableFuture.supplyAsync(() -> cache.verify("dummy-email", "password", slowVerification));
+
+        // when
+        release.countDown();
+
+        // then
+        Assertions.assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void shouldDropVerificationsOfUserOnInvalidate(){
+        // given
+        cache.verify("dummy-email", "password", verification("dummy-email"));
+        cache.verify("other-email", "password", verification("other-email"));
+
+        // when
+        cache.invalidate("dummy-email");
+        cache.verify("dummy-email", "password", verification("dummy-email"));
+        cache.verify("other-email", "password", verification("other-email"));
+
+        // then
+        Assertions.assertEquals(3, verifications.get());
+    }
+
+    @Test
+    void shouldDropVerificationsOfUsersWithBumpedTokenEpoch(){
+        // given
+        cache.verify("dummy-email", "password", verification("dummy-email"));
+
+        // when
+        cache.invalidateAll(Set.of("other-email"));
+        cache.verify("dummy-email", "password", verification("dummy-email"));
+        cache.invalidateAll(Set.of("Dummy-Email"));
+        cache.verify("dummy-email", "password", verification("dummy-email"));
+
+        // then
+        Assertions.assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void shouldShareVerificationsAcrossEmailCase(){
+        // when
+        cache.verify("Dummy-Email", "password", verification("dummy-email"));
+        cache.verify("dummy-email", "password", verification("dummy-email"));
+        cache.invalidate("DUMMY-EMAIL");
+        cache.verify("dummy-email", "password", verification("dummy-email"));
+
+        // then
+        Assertions.assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void failedVerificationShouldNotDropCachedOnes(){
+        // given
+        cache.verify("dummy-email", "password", verification("dummy-email"));
+
+        // when
+        Assertions.assertThrows(BadCredentialsException.class,
+                () -> cache.verify("dummy-email", "wrong-password", failingVerification()));
+        cache.verify("dummy-email", "password", verification("dummy-email"));
+
+        // then
+        Assertions.assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void credentialKeyShouldBeKeyedHmacOfCredentials(){
+        // given
+        CredentialVerificationCache otherCache = new CredentialVerificationCache(
+                new CredentialCacheConfiguration(true, 100, 5000), ticker);
+
+        // when
+        String key = cache.credentialKey("dummy-email", "password");
+
+        // then
+        Assertions.assertEquals(64, key.length());
+        Assertions.assertFalse(key.contains("password"));
+        Assertions.assertEquals(key, cache.credentialKey("dummy-email", "password"));
+        Assertions.assertNotEquals(key, cache.credentialKey("dummy-emailp", "assword"));
+        Assertions.assertNotEquals(key, otherCache.credentialKey("dummy-email", "password"));
+    }
+
+    private Supplier<Authentication> verification(String email) {
+        return () -> {
+            verifications.incrementAndGet();
+            return new UsernamePasswordAuthenticationToken(email, null, List.of());
+        };
+    }
+
+    private Supplier<Authentication> failingVerification() {
+        return () -> {
+            verifications.incrementAndGet();
+            throw new BadCredentialsException("Bad credentials");
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.authservice.hashing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.authservice.config.PasswordHashingConfiguration;
+import org.example.authservice.exception.PasswordHashingRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class PasswordHashingExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void beforeEach(){
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor(new PasswordHashingConfiguration(1, 1, 5000, 2, 4, 250, 4, 4), meterRegistry);
+    }
+
+    @AfterEach
+    void afterEach(){
+        executor.destroy();
+    }
+
+    @Test
+    void shouldEncodeAndMatchOnHashingExecutor(){
+        // given
+        ExecutorPasswordEncoder passwordEncoder = new ExecutorPasswordEncoder(new BCryptPasswordEncoder(4), executor);
+
+        // when
+        String encoded = passwordEncoder.encode("password");
+
+        // then
+        Assertions.assertTrue(passwordEncoder.matches("password", encoded));
+        Assertions.assertEquals(1, meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count());
+        Assertions.assertEquals(1, meterRegistry.get("auth.password.hashing").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenQueueIsFull() throws Exception {
+        // given
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> occupyingWorker = CompletableFuture.supplyAsync(() -> executor.execute("encode", () -> {
+            running.countDown();
+            return await(release);
+        }));
+        running.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.execute("encode", () -> true));
+        while(executor.getQueueDepth() == 0){
+            Thread.onSpinWait();
+        }
+
+        // when
+        PasswordHashingRejectedException exception = Assertions.assertThrows(PasswordHashingRejectedException.class,
+                () -> executor.execute("matches", () -> true));
+
+        // then
+        Assertions.assertEquals(2, exception.getRetryAfter());
+        Assertions.assertEquals(1.0, meterRegistry.get("auth.password.hashing.queue.depth").gauge().value());
+        Assertions.assertEquals(1.0, meterRegistry.get("auth.password.hashing.rejected").counter().count());
+        release.countDown();
+        Assertions.assertTrue(occupyingWorker.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldCountTimeoutsSeparatelyFromRejections(){
+        // given
+        PasswordHashingExecutor slowExecutor = new PasswordHashingExecutor(
+                new PasswordHashingConfiguration(1, 1, 50, 2, 4, 250, 4, 4), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // when
+        try {
+            Assertions.assertThrows(PasswordHashingRejectedException.class,
+                    () -> slowExecutor.execute("matches", () -> await(release)));
+        } finally {
+            release.countDown();
+            slowExecutor.destroy();
+        }
+
+        // then
+        Assertions.assertEquals(1.0, meterRegistry.get("auth.password.hashing.timeout").counter().count());
+        Assertions.assertEquals(0.0, meterRegistry.get("auth.password.hashing.rejected").counter().count());
+    }
+
+    private boolean await(CountDownLatch latch){
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.authservice.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.authservice.Application;
+import org.example.authservice.domain.dto.AuthenticationRequest;
+import org.example.authservice.domain.entity.Role;
+import org.example.authservice.domain.entity.User;
+import org.example.authservice.exception.AuthenticateException;
+import org.example.authservice.repository.UserRepository;
+import org.example.authservice.service.AuthService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = Application.class, properties = {
+        "application.jfr.auth-request-threshold=0",
+        "application.jfr.token-filter-threshold=0",
+        "management.endpoints.web.exposure.include=health,info,prometheus,jfr"
+})
+@AutoConfigureMockMvc
+public class FlightRecordingEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void afterEach(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void dumpShouldRequireAdminRole() throws Exception {
+        // given
+        String userToken = authService.register(AuthenticationRequest.builder()
+                .email("jfr-user")
+                .password("password")
+                .build()).getAccessToken();
+
+        // when and then
+        mockMvc.perform(get("/actuator/jfr"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/jfr").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void dumpShouldContainAuthRequestPhases() throws Exception {
+        // given
+        AuthenticationRequest request = AuthenticationRequest.builder()
+                .email("jfr-email")
+                .password("password")
+                .build();
+        authService.register(request);
+        authService.authenticate(request);
+        String adminToken = adminToken();
+
+        // when
+        MvcResult result = mockMvc.perform(get("/actuator/jfr").param("seconds", "60")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        Path file = Files.createTempFile("auth-service-test-", ".jfr");
+        Files.write(file, result.getResponse().getContentAsByteArray());
+        List<RecordedEvent> events = readAuthRequestEvents(file);
+        RecordedEvent register = events.stream()
+                .filter(event -> "register".equals(event.getString("operation")))
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertEquals("success", register.getString("outcome"));
+        Assertions.assertTrue(register.getDuration("passwordHashing").toNanos() > 0);
+        Assertions.assertTrue(register.getDuration("persistence").toNanos() > 0);
+        Assertions.assertTrue(events.stream().anyMatch(event -> "authenticate".equals(event.getString("operation"))));
+    }
+
+    private String adminToken() throws AuthenticateException {
+        userRepository.save(User.builder()
+                .email("jfr-admin")
+                .userUid(UUID.randomUUID().toString())
+                .password(passwordEncoder.encode("password"))
+                .role(Role.ADMIN)
+                .build());
+        return authService.authenticate(AuthenticationRequest.builder()
+                .email("jfr-admin")
+                .password("password")
+                .build()).getAccessToken();
+    }
+
+    private static List<RecordedEvent> readAuthRequestEvents(Path file) throws IOException {
+        try {
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(AuthRequestEvent.NAME))
+                    .toList();
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.authservice.ratelimit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucketTableTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final TokenBucketTable table = new TokenBucketTable(1024, 3, Duration.ofSeconds(3), clock::get);
+
+    @Test
+    void shouldAllowBurstUpToCapacity(){
+        // when
+        long first = table.tryAcquire("key");
+        long second = table.tryAcquire("key");
+        long third = table.tryAcquire("key");
+        long fourth = table.tryAcquire("key");
+
+        // then
+        Assertions.assertEquals(0, first);
+        Assertions.assertEquals(0, second);
+        Assertions.assertEquals(0, third);
+        Assertions.assertEquals(Duration.ofSeconds(1).toNanos(), fourth);
+    }
+
+    @Test
+    void shouldRefillOneTokenPerEmissionInterval(){
+        // given
+        for(int i = 0; i < 3; i++){
+            table.tryAcquire("key");
+        }
+
+        // when
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        long refilled = table.tryAcquire("key");
+        long exhausted = table.tryAcquire("key");
+
+        // then
+        Assertions.assertEquals(0, refilled);
+        Assertions.assertTrue(exhausted > 0);
+    }
+
+    @Test
+    void shouldKeepKeysInSeparateSlots(){
+        // given
+        for(int i = 0; i < 3; i++){
+            table.tryAcquire("attacker");
+        }
+
+        // when
+        long attacker = table.tryAcquire("attacker");
+        long victim = table.tryAcquire("victim");
+
+        // then
+        Assertions.assertNotEquals(table.slot("attacker"), table.slot("victim"));
+        Assertions.assertTrue(attacker > 0);
+        Assertions.assertEquals(0, victim);
+    }
+
+    @Test
+    void shouldRoundTableToPowerOfTwo(){
+        // then
+        Assertions.assertEquals(1024, table.size());
+        Assertions.assertEquals(2048, new TokenBucketTable(1025, 1, Duration.ofSeconds(1)).size());
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.authservice.repository;
+
+import org.example.authservice.Application;
+import org.example.authservice.domain.entity.Role;
+import org.example.authservice.domain.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@SpringBootTest(classes = Application.class)
+public class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void afterEach(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldFindUserByEmailIgnoringCase(){
+        // given
+        userRepository.saveAndFlush(user("Dummy-Email@Example.com"));
+
+        // when & then
+        Assertions.assertTrue(userRepository.findByEmail("dummy-email@example.com").isPresent());
+        Assertions.assertTrue(userRepository.findByEmail("DUMMY-EMAIL@EXAMPLE.COM").isPresent());
+    }
+
+    @Test
+    void shouldRejectEmailDifferingOnlyByCase(){
+        // given
+        userRepository.saveAndFlush(user("dummy-email@example.com"));
+
+        // when & then
+        Assertions.assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.saveAndFlush(user("Dummy-Email@Example.com")));
+    }
+
+    @Test
+    @Transactional
+    void shouldLookUpEmailThroughNormalizedIndex(){
+        // given
+        jdbcTemplate.execute("set local enable_seqscan = off");
+
+        // when
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "explain select * from _user where lower(email) = lower('dummy-email@example.com')", String.class));
+
+        // then
+        Assertions.assertTrue(plan.contains("_user_email_lower_idx"), plan);
+    }
+
+    private User user(String email){
+        return User.builder()
+                .email(email)
+                .userUid(UUID.randomUUID().toString())
+                .password("dummy-password")
+                .role(Role.USER)
+                .build();
+    }
+}
@@ -1,20 +1,44 @@
 package org.example.authservice.service;//package org.example.authservice.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
 import org.example.authservice.Application;
+import org.example.authservice.SqlStatementRecorder;
 import org.example.authservice.domain.dto.AuthenticateResponse;
 import org.example.authservice.domain.dto.AuthenticationRequest;
+import org.example.authservice.domain.dto.UserBatchRequest;
+import org.example.authservice.domain.dto.UserInfo;
+import org.example.authservice.domain.entity.Role;
 import org.example.authservice.domain.entity.User;
 import org.example.authservice.exception.AuthenticateException;
 import org.example.authservice.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-@SpringBootTest(classes = Application.class)
+@SpringBootTest(classes = Application.class, properties = {
+        "application.security.credential-cache.enabled=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.example.authservice.SqlStatementRecorder",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
 public class AuthServiceTest {
 
     @Autowired
@@ -23,6 +47,12 @@ public class AuthServiceTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @AfterEach
     void afterEach(){
         userRepository.deleteAll();
@@ -68,4 +98,171 @@ public class AuthServiceTest {
         // and
         Assertions.assertThrows(AuthenticateException.class, ()-> authService.register(registerRequest));
     }
+
+    @Test
+    void shouldNotReportOtherIntegrityViolationsAsExistingEmail() {
+        // given
+        AuthenticationRequest registerRequest = AuthenticationRequest.builder()
+                .email("a".repeat(300))
+                .password("dummy-password")
+                .build();
+
+        // when and then
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> authService.register(registerRequest));
+    }
+
+    @Test
+    void shouldRegisterOnlyOneOfConcurrentSignupsForSameEmail() throws Exception {
+        // given
+        AuthenticationRequest registerRequest = AuthenticationRequest.builder()
+                .email("dummy-email")
+                .password("dummy-password")
+                .build();
+        int attempts = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<AuthenticateResponse>> results = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < attempts; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return authService.register(registerRequest);
+            }));
+        }
+        start.countDown();
+        int registered = 0;
+        int rejected = 0;
+        for (Future<AuthenticateResponse> result : results) {
+            try {
+                Assertions.assertNotNull(result.get().getAccessToken());
+                registered++;
+            } catch (ExecutionException e) {
+                Assertions.assertInstanceOf(AuthenticateException.class, e.getCause());
+                rejected++;
+            }
+        }
+        executor.shutdown();
+
+        // then
+        Assertions.assertEquals(1, registered);
+        Assertions.assertEquals(attempts - 1, rejected);
+        Assertions.assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void authenticationShouldReadUserOnce() throws AuthenticateException {
+        // given
+        AuthenticationRequest request = AuthenticationRequest.builder()
+                .email("dummy-email")
+                .password("dummy-password")
+                .build();
+        authService.register(request);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SqlStatementRecorder.clear();
+
+        // when
+        AuthenticateResponse authenticateResponse = authService.authenticate(request);
+
+        // then
+        List<String> statements = SqlStatementRecorder.statementsExcludingIdAllocation();
+        Assertions.assertNotNull(authenticateResponse.getAccessToken());
+        Assertions.assertEquals(2, statements.size(), statements::toString);
+        Assertions.assertTrue(statements.get(0).startsWith("select") && statements.get(0).contains(" from _user "), statements::toString);
+        Assertions.assertTrue(statements.get(1).startsWith("insert into refresh_token "), statements::toString);
+        Assertions.assertEquals(SqlStatementRecorder.statements().size(), statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getQueryExecutionCount());
+        Assertions.assertEquals(1, statistics.getEntityLoadCount());
+        Assertions.assertEquals(1, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void repeatedAuthenticationShouldReuseVerifiedCredentials() throws AuthenticateException {
+        // given
+        AuthenticationRequest request = AuthenticationRequest.builder()
+                .email("dummy-email")
+                .password("dummy-password")
+                .build();
+        authService.register(request);
+        authService.authenticate(request);
+        Timer matches = meterRegistry.timer("auth.password.hashing", "operation", "matches");
+        long matchesBefore = matches.count();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        AuthenticateResponse authenticateResponse = authService.authenticate(request);
+
+        // then
+        Assertions.assertNotNull(authenticateResponse.getAccessToken());
+        Assertions.assertEquals(matchesBefore, matches.count());
+        Assertions.assertEquals(0, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void batchLookupShouldReturnUsersInRequestOrderWithOneQuery() {
+        // given
+        List<User> saved = new ArrayList<>();
+        for(int i = 0; i < 3; i++){
+            saved.add(userRepository.save(User.builder()
+                    .email("batch-email-" + i)
+                    .userUid(UUID.randomUUID().toString())
+                    .password("password")
+                    .role(Role.USER)
+                    .build()));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        List<UserInfo> users = authService.getInfoBatch(UserBatchRequest.builder()
+                .emails(List.of("BATCH-EMAIL-2", "unknown-email", "batch-email-0"))
+                .userUids(List.of(saved.get(1).getUserUid()))
+                .build());
+
+        // then
+        Assertions.assertEquals(4, users.size());
+        Assertions.assertEquals("batch-email-2", users.get(0).getEmail());
+        Assertions.assertNull(users.get(1));
+        Assertions.assertEquals("batch-email-0", users.get(2).getEmail());
+        Assertions.assertEquals("batch-email-1", users.get(3).getEmail());
+        Assertions.assertEquals(1, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void shouldUpgradeOutdatedPasswordHashAfterLogin() throws Exception {
+        // given
+        String email = "legacy-email";
+        userRepository.save(User.builder()
+                .email(email)
+                .userUid(UUID.randomUUID().toString())
+                .password(new BCryptPasswordEncoder(4).encode("legacy-password"))
+                .role(Role.USER)
+                .build());
+
+        // when
+        authService.authenticate(AuthenticationRequest.builder()
+                .email(email)
+                .password("legacy-password")
+                .build());
+
+        // then
+        String upgradedPassword = awaitPasswordChange(email);
+        Assertions.assertTrue(upgradedPassword.startsWith("{bcrypt}"));
+        Assertions.assertNotNull(authService.authenticate(AuthenticationRequest.builder()
+                .email(email)
+                .password("legacy-password")
+                .build()).getAccessToken());
+    }
+
+    private String awaitPasswordChange(String email) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        String password = userRepository.findByEmail(email).orElseThrow().getPassword();
+        while(!password.startsWith("{") && System.currentTimeMillis() < deadline){
+            Thread.sleep(50);
+            password = userRepository.findByEmail(email).orElseThrow().getPassword();
+        }
+        return password;
+    }
 }
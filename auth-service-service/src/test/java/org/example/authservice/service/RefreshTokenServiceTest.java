@@ -0,0 +1,156 @@
+package org.example.authservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.authservice.Application;
+import org.example.authservice.domain.dto.AuthenticateResponse;
+import org.example.authservice.domain.dto.AuthenticationRequest;
+import org.example.authservice.domain.entity.RefreshToken;
+import org.example.authservice.domain.entity.User;
+import org.example.authservice.exception.AuthenticateException;
+import org.example.authservice.repository.RefreshTokenRepository;
+import org.example.authservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+@SpringBootTest(classes = Application.class, properties = "application.security.token-purge.batch-size=2")
+public class RefreshTokenServiceTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ExpiredTokenPurger expiredTokenPurger;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void afterEach(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldRotateRefreshToken() throws Exception {
+        // given
+        String refreshToken = register().getRefreshToken();
+
+        // when
+        MockHttpServletResponse response = refresh(refreshToken);
+
+        // then
+        Assertions.assertEquals(200, response.getStatus());
+        AuthenticateResponse rotated = new ObjectMapper().readValue(response.getContentAsString(), AuthenticateResponse.class);
+        Assertions.assertNotEquals(refreshToken, rotated.getRefreshToken());
+        Assertions.assertEquals(200, refresh(rotated.getRefreshToken()).getStatus());
+    }
+
+    @Test
+    void reusedRefreshTokenShouldRevokeWholeFamily() throws Exception {
+        // given
+        String refreshToken = register().getRefreshToken();
+        AuthenticateResponse rotated = new ObjectMapper().readValue(refresh(refreshToken).getContentAsString(), AuthenticateResponse.class);
+
+        // when
+        MockHttpServletResponse reuse = refresh(refreshToken);
+
+        // then
+        Assertions.assertEquals(401, reuse.getStatus());
+        Assertions.assertEquals(401, refresh(rotated.getRefreshToken()).getStatus());
+    }
+
+    @Test
+    void accessTokenShouldNotBeExchangedForRefreshToken() throws Exception {
+        // given
+        String accessToken = register().getAccessToken();
+        long storedTokens = refreshTokenRepository.count();
+
+        // when
+        MockHttpServletResponse response = refresh(accessToken);
+
+        // then
+        Assertions.assertEquals(401, response.getStatus());
+        Assertions.assertEquals(storedTokens, refreshTokenRepository.count());
+    }
+
+    @Test
+    void malformedRefreshTokenShouldBeRejected() throws Exception {
+        // when
+        MockHttpServletResponse response = refresh("invalid");
+
+        // then
+        Assertions.assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    void refreshTokenOfDeletedUserShouldBeRejected() throws Exception {
+        // given
+        String refreshToken = register().getRefreshToken();
+        userRepository.delete(userRepository.findByEmail("dummy-email").orElseThrow());
+
+        // when
+        MockHttpServletResponse response = refresh(refreshToken);
+
+        // then
+        Assertions.assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    void shouldStoreOnlyTokenHash() throws Exception {
+        // given
+        String refreshToken = register().getRefreshToken();
+
+        // when & then
+        Assertions.assertTrue(refreshTokenRepository.findAll().stream()
+                .noneMatch(token -> token.getTokenHash().equals(refreshToken)));
+        Assertions.assertTrue(refreshTokenRepository.existsByTokenHash(RefreshTokenService.hash(refreshToken)));
+    }
+
+    @Test
+    void shouldPurgeExpiredTokensInBatches() throws Exception {
+        // given
+        register();
+        User user = userRepository.findByEmail("dummy-email").orElseThrow();
+        for (int i = 0; i < 5; i++) {
+            refreshTokenRepository.save(RefreshToken.builder()
+                    .tokenHash(UUID.randomUUID().toString())
+                    .familyId(UUID.randomUUID().toString())
+                    .user(user)
+                    .expiresAt(Instant.now().minus(Duration.ofMinutes(1)))
+                    .build());
+        }
+
+        // when
+        expiredTokenPurger.purge();
+
+        // then
+        Assertions.assertEquals(1, refreshTokenRepository.count());
+    }
+
+    private AuthenticateResponse register() throws AuthenticateException {
+        return authService.register(AuthenticationRequest.builder()
+                .email("dummy-email")
+                .password("dummy-password")
+                .build());
+    }
+
+    private MockHttpServletResponse refresh(String refreshToken) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + refreshToken);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        authService.refreshToken(request, response);
+        return response;
+    }
+}
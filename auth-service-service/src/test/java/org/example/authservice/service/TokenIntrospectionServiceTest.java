@@ -0,0 +1,145 @@
+package org.example.authservice.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.authservice.Application;
+import org.example.authservice.domain.dto.AuthenticateResponse;
+import org.example.authservice.domain.dto.AuthenticationRequest;
+import org.example.authservice.domain.dto.TokenIntrospection;
+import org.example.authservice.domain.dto.TokenIntrospectionRequest;
+import org.example.authservice.filter.service.JwtService;
+import org.example.authservice.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = Application.class, properties = {
+        "application.security.introspection.chunk-size=2",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+public class TokenIntrospectionServiceTest {
+
+    @Autowired
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @AfterEach
+    void afterEach(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldIntrospectBatchInRequestOrderWithOneUserQuery() throws Exception {
+        // given
+        AuthenticateResponse first = authService.register(request("introspect-first"));
+        AuthenticateResponse second = authService.register(request("introspect-second"));
+        AuthenticateResponse revoked = authService.authenticate(request("introspect-first"));
+        tokenRevocationService.revoke(jwtService.verify(revoked.getAccessToken()),
+                userRepository.findByEmail("introspect-first").orElseThrow());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        List<TokenIntrospection> introspections = tokenIntrospectionService.introspect(List.of(
+                first.getAccessToken(), "not-a-token", second.getAccessToken(), revoked.getAccessToken(), first.getAccessToken()));
+
+        // then
+        Assertions.assertEquals(5, introspections.size());
+        Assertions.assertTrue(introspections.get(0).isActive());
+        Assertions.assertEquals("introspect-first", introspections.get(0).getSubject());
+        Assertions.assertEquals("USER", introspections.get(0).getRole());
+        Assertions.assertNotNull(introspections.get(0).getExpiresAt());
+        Assertions.assertFalse(introspections.get(1).isActive());
+        Assertions.assertEquals("introspect-second", introspections.get(2).getSubject());
+        Assertions.assertFalse(introspections.get(3).isActive());
+        Assertions.assertTrue(introspections.get(4).isActive());
+        Assertions.assertEquals(1, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void onlyAccessTokensShouldBeReportedActive() throws Exception {
+        // given
+        AuthenticateResponse registered = authService.register(request("introspect-token-use"));
+
+        // when
+        List<TokenIntrospection> introspections = tokenIntrospectionService.introspect(List.of(
+                registered.getAccessToken(), registered.getRefreshToken()));
+
+        // then
+        Assertions.assertTrue(introspections.get(0).isActive());
+        Assertions.assertEquals("introspect-token-use", introspections.get(0).getSubject());
+        Assertions.assertFalse(introspections.get(1).isActive());
+        Assertions.assertNull(introspections.get(1).getSubject());
+    }
+
+    @Test
+    void introspectionEndpointShouldOmitClaimsOfInactiveTokens() throws Exception {
+        // given
+        AuthenticateResponse registered = authService.register(request("introspect-http"));
+        TokenIntrospectionRequest introspectionRequest = TokenIntrospectionRequest.builder()
+                .tokens(List.of(registered.getAccessToken(), "not-a-token"))
+                .build();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBasicAuth("test-client", "test-secret");
+
+        // when
+        var response = testRestTemplate.exchange("/api/v1/auth/introspect", HttpMethod.POST,
+                new HttpEntity<>(introspectionRequest, headers), String.class);
+
+        // then
+        Assertions.assertTrue(response.getStatusCode().is2xxSuccessful());
+        Assertions.assertTrue(response.getBody().startsWith("[{\"active\":true,\"sub\":\"introspect-http\",\"exp\":"), response.getBody());
+        Assertions.assertTrue(response.getBody().endsWith(",{\"active\":false}]"));
+    }
+
+    @Test
+    void introspectionEndpointShouldRequireServiceClientCredentials() throws Exception {
+        // given
+        AuthenticateResponse registered = authService.register(request("introspect-anonymous"));
+        TokenIntrospectionRequest introspectionRequest = TokenIntrospectionRequest.builder()
+                .tokens(List.of(registered.getAccessToken()))
+                .build();
+
+        // when
+        var response = testRestTemplate.postForEntity("/api/v1/auth/introspect", introspectionRequest, String.class);
+
+        // then
+        Assertions.assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+    }
+
+    private static AuthenticationRequest request(String email){
+        return AuthenticationRequest.builder()
+                .email(email)
+                .password("password")
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.authservice.service;
+
+import org.example.authservice.Application;
+import org.example.authservice.domain.dto.AuthenticateResponse;
+import org.example.authservice.domain.dto.AuthenticationRequest;
+import org.example.authservice.domain.dto.TokenRevocations;
+import org.example.authservice.domain.entity.User;
+import org.example.authservice.filter.service.JwtService;
+import org.example.authservice.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = Application.class)
+public class TokenRevocationServiceTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @AfterEach
+    void afterEach(){
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void revocationsEndpointShouldPublishRevokedTokensAndEpochs() throws Exception {
+        // given
+        AuthenticateResponse registered = authService.register(request("revocations-feed"));
+        User user = userRepository.findByEmail("revocations-feed").orElseThrow();
+        String tokenId = jwtService.verify(registered.getAccessToken()).getId();
+        tokenRevocationService.revoke(jwtService.verify(registered.getAccessToken()), user);
+        tokenRevocationService.revokeAll(user);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBasicAuth("test-client", "test-secret");
+
+        // when
+        var response = testRestTemplate.exchange("/api/v1/auth/revocations", HttpMethod.GET,
+                new HttpEntity<>(headers), TokenRevocations.class);
+
+        // then
+        Assertions.assertTrue(response.getStatusCode().is2xxSuccessful());
+        Assertions.assertTrue(response.getBody().getTokens().stream().anyMatch(token -> token.getId().equals(tokenId)));
+        Assertions.assertTrue(response.getBody().getEpochs().stream()
+                .anyMatch(epoch -> epoch.getUserUid().equals(user.getUserUid()) && epoch.getEpoch() == 1));
+    }
+
+    @Test
+    void revocationsEndpointShouldRequireServiceClientCredentials(){
+        // when
+        var response = testRestTemplate.getForEntity("/api/v1/auth/revocations", String.class);
+
+        // then
+        Assertions.assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+    }
+
+    private static AuthenticationRequest request(String email){
+        return AuthenticationRequest.builder()
+                .email(email)
+                .password("password")
+                .build();
+    }
+}
@@ -1,2 +1,3 @@
+DELETE from refresh_token;
 DELETE from token;
 DELETE from _user;
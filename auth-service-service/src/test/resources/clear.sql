@@ -1,2 +0,0 @@
-DROP TABLE token;
-DROP TABLE _user;